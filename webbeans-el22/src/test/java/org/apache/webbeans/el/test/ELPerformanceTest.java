@@ -40,6 +40,7 @@ public class ELPerformanceTest extends AbstractUnitTest
 {
     private static final int THREADS = 100;
     private static final int ITERATIONS = 200;
+    private static final String[] UNKNOWN_NAMES = {"facesContext", "param", "view", "msg", "cc"};
 
 
     private static Logger logger = WebBeansLoggerFacade.getLogger(ELPerformanceTest.class);
@@ -108,6 +109,12 @@ public class ELPerformanceTest extends AbstractUnitTest
                     SampleBean sb = (SampleBean) resolver.getValue(elctx , null, "sampleBean");
                     sb.getRb().getY();
                     sb.getX();
+
+                    // implicit objects and other names which are no CDI beans
+                    for (String name : UNKNOWN_NAMES)
+                    {
+                        Assert.assertNull(resolver.getValue(elctx, null, name));
+                    }
                 }
             }
             catch(RuntimeException e)
@@ -72,6 +72,14 @@ public final class AnnotationManager
     private Map<Class<? extends Annotation>, Boolean> checkedStereotypeAnnotations =
         new ConcurrentHashMap<>();
 
+    /**
+     * Qualifier types which already passed {@link #checkQualifierConditions(Annotation)}.
+     * The result only depends on the annotation type, so we don't need to
+     * inspect the members on each dynamic lookup again.
+     */
+    private Set<Class<? extends Annotation>> validQualifierTypes =
+        Collections.newSetFromMap(new ConcurrentHashMap<Class<? extends Annotation>, Boolean>());
+
     private final BeanManagerImpl beanManagerImpl;
     private final WebBeansContext webBeansContext;
 
@@ -412,6 +420,7 @@ public final class AnnotationManager
         {
             // performance hack to avoid Set creation
             checkQualifierConditions(qualifierAnnots[0]);
+            return;
         }
 
         Set<Annotation> annSet = ArrayUtil.asSet(qualifierAnnots);
@@ -464,6 +473,11 @@ public final class AnnotationManager
             return;
         }
 
+        if (validQualifierTypes.contains(ann.annotationType()))
+        {
+            return;
+        }
+
         Method[] methods = webBeansContext.getSecurityService().doPrivilegedGetDeclaredMethods(ann.annotationType());
 
         for (Method method : methods)
@@ -483,6 +497,8 @@ public final class AnnotationManager
         {
             throw new IllegalArgumentException("Qualifier annotations must be annotated with @Qualifier");
         }
+
+        validQualifierTypes.add(ann.annotationType());
     }
 
     /**
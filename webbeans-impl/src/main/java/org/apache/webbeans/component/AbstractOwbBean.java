@@ -76,6 +76,13 @@ public abstract class AbstractOwbBean<T>
     
     protected final WebBeansContext webBeansContext;
 
+    /**
+     * Dense index of this bean among the beans of the same normal scope within its WebBeansContext.
+     * Gets assigned when the bean gets added to the BeanManager, {@code -1} for other beans.
+     * @see org.apache.webbeans.context.ContextualInstanceMap
+     */
+    private volatile int contextSlot = -1;
+
     protected AbstractOwbBean(WebBeansContext webBeansContext,
                               WebBeansType webBeansType,
                               BeanAttributes<T> beanAttributes,
@@ -407,6 +414,19 @@ public abstract class AbstractOwbBean<T>
         return logger;
     }
 
+    /**
+     * @return the slot of this bean in the context storage or {@code -1} if none got assigned yet
+     */
+    public int getContextSlot()
+    {
+        return contextSlot;
+    }
+
+    public void setContextSlot(int contextSlot)
+    {
+        this.contextSlot = contextSlot;
+    }
+
     @Override
     public boolean isDependent()
     {
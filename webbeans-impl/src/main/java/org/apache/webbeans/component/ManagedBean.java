@@ -18,6 +18,7 @@
  */
 package org.apache.webbeans.component;
 
+import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.AnnotatedType;
@@ -27,6 +28,7 @@ import javax.enterprise.inject.spi.BeanAttributes;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.portable.InjectionTargetImpl;
+import org.apache.webbeans.portable.TrivialInstantiator;
 
 /**
  * Managed bean implementation of the {@link javax.enterprise.inject.spi.Bean}.
@@ -38,6 +40,13 @@ public class ManagedBean<T> extends InjectionTargetBean<T> implements Intercepte
     // just needed in BeansDeployer
     private InjectionTargetImpl<T> originalInjectionTarget; // don't do = null!
 
+    /**
+     * Only set for trivial &#064;Dependent beans, see {@link #classifyTrivial()}.
+     * The instantiator itself gets created lazily on the first instance creation.
+     */
+    private boolean trivial;
+    private volatile TrivialInstantiator<T> trivialInstantiator;
+
     public ManagedBean(WebBeansContext webBeansContext,
                        WebBeansType webBeansType,
                        AnnotatedType<T> annotated,
@@ -54,6 +63,10 @@ public class ManagedBean<T> extends InjectionTargetBean<T> implements Intercepte
 
     public T create(CreationalContext<T> creationalContext)
     {
+        if (trivial)
+        {
+            return createTrivialInstance();
+        }
         if (!(creationalContext instanceof CreationalContextImpl))
         {
             creationalContext = webBeansContext.getCreationalContextFactory().wrappedCreationalContext(creationalContext, this);
@@ -72,6 +85,38 @@ public class ManagedBean<T> extends InjectionTargetBean<T> implements Intercepte
         }
     }
 
+    /**
+     * Checks whether instances of this bean can get created via a {@link TrivialInstantiator}.
+     * This gets invoked by the BeansDeployer once the deployment got validated.
+     */
+    public void classifyTrivial()
+    {
+        trivial = Dependent.class.equals(getScope())
+                && getProducer() instanceof InjectionTargetImpl
+                && ((InjectionTargetImpl<T>) getProducer()).isTrivial();
+    }
+
+    public boolean isTrivial()
+    {
+        return trivial;
+    }
+
+    /**
+     * Creates a new instance without any CreationalContext.
+     * The instance doesn't need to get destroyed.
+     * Must only get invoked for {@link #isTrivial() trivial} beans.
+     */
+    public T createTrivialInstance()
+    {
+        TrivialInstantiator<T> instantiator = trivialInstantiator;
+        if (instantiator == null)
+        {
+            instantiator = ((InjectionTargetImpl<T>) getProducer()).createTrivialInstantiator();
+            trivialInstantiator = instantiator;
+        }
+        return instantiator.newInstance();
+    }
+
     public void setOriginalInjectionTarget(final InjectionTargetImpl<T> originalInjectionTarget)
     {
         this.originalInjectionTarget = originalInjectionTarget;
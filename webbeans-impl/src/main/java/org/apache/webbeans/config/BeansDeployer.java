@@ -125,6 +125,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -342,6 +344,26 @@ public class BeansDeployer
                 // fire event
                 fireAfterDeploymentValidationEvent();
 
+                if (webBeansContext.getOpenWebBeansConfiguration().isTrivialDependentBeansEnabled())
+                {
+                    classifyTrivialBeans();
+                }
+
+                int proxyParallelism = webBeansContext.getOpenWebBeansConfiguration().getProxyPrecreationParallelism();
+                if (proxyParallelism > 0)
+                {
+                    createNormalScopeProxyClasses(proxyParallelism);
+                }
+
+                if (webBeansContext.getOpenWebBeansConfiguration().useTypeIndex())
+                {
+                    // the set of beans is final now
+                    webBeansContext.getBeanManagerImpl().getInjectionResolver().buildTypeIndex();
+                }
+
+                // the bean names are final as well, e.g. for the EL resolution
+                webBeansContext.getBeanManagerImpl().getInjectionResolver().buildNameIndex();
+
 
                 // do some cleanup after the deployment
                 scanner.release();
@@ -378,6 +400,99 @@ public class BeansDeployer
         }
     }
 
+    /**
+     * Marks all &#064;Dependent managed beans which can get created without any CreationalContext.
+     * This must happen after the AfterDeploymentValidation event as the InjectionTargets
+     * and the set of beans are final only then.
+     */
+    private void classifyTrivialBeans()
+    {
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (bean instanceof ManagedBean)
+            {
+                ((ManagedBean<?>) bean).classifyTrivial();
+            }
+        }
+    }
+
+    /**
+     * Creates the normal scope proxy classes of all normal scoped beans upfront,
+     * so the first request doesn't need to generate them.
+     * The proxy classes of the interceptor and decorator proxies already got created
+     * while validating the beans.
+     */
+    private void createNormalScopeProxyClasses(int parallelism)
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        List<Bean<?>> beans = new ArrayList<>();
+        for (Bean<?> bean : beanManager.getBeans())
+        {
+            if (beanManager.isNormalScope(bean.getScope())
+                && !(bean instanceof EnterpriseBeanMarker)
+                && !(bean instanceof OwbBean && !((OwbBean<?>) bean).isEnabled()))
+            {
+                beans.add(bean);
+            }
+        }
+
+        ClassLoader loader = WebBeansUtil.getCurrentClassLoader();
+        if (parallelism == 1 || beans.size() < 2)
+        {
+            for (Bean<?> bean : beans)
+            {
+                createNormalScopeProxyClass(bean);
+            }
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, beans.size()));
+        try
+        {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(beans.size());
+            for (Bean<?> bean : beans)
+            {
+                tasks.add(pool.submit(() -> createNormalScopeProxyClass(loader, bean)));
+            }
+            for (ForkJoinTask<?> task : tasks)
+            {
+                task.join();
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private void createNormalScopeProxyClass(ClassLoader loader, Bean<?> bean)
+    {
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try
+        {
+            createNormalScopeProxyClass(bean);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private void createNormalScopeProxyClass(Bean<?> bean)
+    {
+        try
+        {
+            webBeansContext.getNormalScopeProxyFactory().createProxyClass(bean);
+        }
+        catch (RuntimeException e)
+        {
+            // the proxy class will get created lazily and the error gets reported on first use
+            logger.log(Level.FINE, "Cannot create the normal scope proxy class for " + bean, e);
+        }
+    }
+
     /**
      * Ensure "foo" and "foo.bar" conflict and is reported as a DeploymentException but foo.bar and foo.dummy don't conflict.
      */
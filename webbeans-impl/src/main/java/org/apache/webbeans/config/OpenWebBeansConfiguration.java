@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -86,6 +87,44 @@ public class OpenWebBeansConfiguration
     /**If generics should be taken into account for the matching*/
     public static final String FAST_MATCHING = "org.apache.webbeans.container.InjectionResolver.fastMatching";
 
+    /**
+     * If a frozen index of all bean types should get built after the deployment got validated.
+     * This avoids any assignability checks for runtime lookups of known bean types
+     * at the cost of a slightly longer boot.
+     * Default is {@code false}
+     */
+    public static final String TYPE_INDEX = "org.apache.webbeans.container.InjectionResolver.typeIndex";
+
+    /**
+     * If &#064;Dependent managed beans without any interceptor, decorator, lifecycle callback
+     * and with only normal-scoped injection points should get created without
+     * any CreationalContext and without registering them as dependent object.
+     * Default is {@code false}
+     */
+    public static final String TRIVIAL_DEPENDENT_BEANS = "org.apache.webbeans.component.trivialDependentBeans";
+
+    /**
+     * If constructor, field and initializer method injection should use a cached
+     * {@link java.lang.invoke.MethodHandle} per member instead of reflection.
+     * Default is {@code false}
+     */
+    public static final String USE_METHOD_HANDLES = "org.apache.webbeans.inject.useMethodHandles";
+
+    /**
+     * If normal scope proxy classes which got generated at build time should get loaded
+     * instead of generating them at runtime. Proxy classes which don't exist or are outdated
+     * still get generated at runtime.
+     * Default is {@code false}
+     */
+    public static final String USE_PREGENERATED_PROXIES = "org.apache.webbeans.proxy.usePregeneratedProxies";
+
+    /**
+     * Number of threads used to create the normal scope proxy classes of all beans during the deployment.
+     * {@code 0} uses one thread per available processor.
+     * Default is empty which means the proxy classes get created lazily on first use.
+     */
+    public static final String PROXY_PRECREATION_PARALLELISM = "org.apache.webbeans.proxy.precreationParallelism";
+
     /**Use EJB Discovery or not*/
     public static final String USE_EJB_DISCOVERY = "org.apache.webbeans.spi.deployer.useEjbMetaDataDiscoveryService";
 
@@ -149,6 +188,51 @@ public class OpenWebBeansConfiguration
      */
     public static final String SCAN_ONLY_BEANS_XML_JARS = "org.apache.webbeans.scanBeansXmlOnly";
 
+    /**
+     * Number of threads used to scan the bean archives and to load their classes.
+     * {@code 1} scans all archives sequentially, {@code 0} uses one thread per available processor.
+     * Default is {@code 1}
+     */
+    public static final String SCAN_PARALLELISM = "org.apache.webbeans.scanParallelism";
+
+    /**
+     * Location of a file which stores the scan results of all bean archives in the local file system.
+     * On the next start only archives which changed in the meantime get scanned again.
+     * Default is empty which disables the scan index.
+     */
+    public static final String SCAN_INDEX_FILE = "org.apache.webbeans.scanIndexFile";
+
+    /**
+     * The Executor used to notify asynchronous observer methods if no {@link java.util.concurrent.Executor}
+     * got registered as SPI service and none got passed via {@link javax.enterprise.event.NotificationOptions}.
+     * <ul>
+     *     <li>&quot;default&quot; uses the common {@link java.util.concurrent.ForkJoinPool}</li>
+     *     <li>&quot;fixed&quot; uses a fixed thread pool with {@link #ASYNC_EVENT_EXECUTOR_THREADS} threads</li>
+     *     <li>&quot;forkjoin&quot; uses a dedicated ForkJoinPool with a parallelism of {@link #ASYNC_EVENT_EXECUTOR_THREADS}</li>
+     *     <li>&quot;virtual&quot; starts a virtual thread per observer method, requires Java 21 or later</li>
+     * </ul>
+     * Default is &quot;default&quot;
+     */
+    public static final String ASYNC_EVENT_EXECUTOR = "org.apache.webbeans.event.async.executor";
+
+    /**
+     * Number of threads of the &quot;fixed&quot; and &quot;forkjoin&quot; {@link #ASYNC_EVENT_EXECUTOR}.
+     * {@code 0} uses one thread per available processor.
+     * Default is {@code 0}
+     */
+    public static final String ASYNC_EVENT_EXECUTOR_THREADS = "org.apache.webbeans.event.async.executor.threads";
+
+    /**
+     * The request context asynchronous observer methods get notified in.
+     * <ul>
+     *     <li>&quot;new&quot; starts a new request context for each notified observer method</li>
+     *     <li>&quot;propagate&quot; shares the contexts of the thread which fired the event.
+     *     If that thread had no active request context or if it already got ended, a new one gets started.</li>
+     * </ul>
+     * Default is &quot;new&quot;
+     */
+    public static final String ASYNC_EVENT_REQUEST_CONTEXT = "org.apache.webbeans.event.async.requestContext";
+
     /**
      * a comma-separated list of fully qualified class names that should be ignored
      * when determining if a decorator matches its delegate.  These are typically added by
@@ -396,6 +480,144 @@ public class OpenWebBeansConfiguration
         return "true".equalsIgnoreCase(value);
     }
 
+    /**
+     * Flag which indicates that the InjectionResolver should build a frozen type index
+     * after the deployment got validated.
+     * Default is {@code false}
+     */
+    public boolean useTypeIndex()
+    {
+        String value = getProperty(TYPE_INDEX);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Flag which indicates that trivial &#064;Dependent beans should get created via a fast path.
+     * Default is {@code false}
+     */
+    public boolean isTrivialDependentBeansEnabled()
+    {
+        String value = getProperty(TRIVIAL_DEPENDENT_BEANS);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Flag which indicates that the injection should use MethodHandles instead of reflection.
+     * Default is {@code false}
+     */
+    public boolean isUseMethodHandles()
+    {
+        String value = getProperty(USE_METHOD_HANDLES);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Flag which indicates that proxy classes generated at build time should get used.
+     * Default is {@code false}
+     */
+    public boolean isUsePregeneratedProxies()
+    {
+        String value = getProperty(USE_PREGENERATED_PROXIES);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Number of threads which should create the normal scope proxy classes during the deployment.
+     * @return the number of threads or {@code -1} if the proxy classes should get created lazily
+     */
+    public int getProxyPrecreationParallelism()
+    {
+        String value = getProperty(PROXY_PRECREATION_PARALLELISM);
+        if (value == null || value.trim().length() == 0)
+        {
+            return -1;
+        }
+        return getThreadCount(PROXY_PRECREATION_PARALLELISM, 1);
+    }
+
+    /**
+     * Number of threads which should scan the bean archives in parallel.
+     * Default is {@code 1} which means that all archives get scanned sequentially.
+     */
+    public int getScanParallelism()
+    {
+        return getThreadCount(SCAN_PARALLELISM, 1);
+    }
+
+    /**
+     * @return the location of the scan index or {@code null} if no scan index should be used
+     */
+    public String getScanIndexFile()
+    {
+        String value = getProperty(SCAN_INDEX_FILE);
+        return value == null || value.trim().length() == 0 ? null : value.trim();
+    }
+
+    /**
+     * @return the lower case type of the Executor for async observer methods
+     * @see #ASYNC_EVENT_EXECUTOR
+     */
+    public String getAsyncEventExecutor()
+    {
+        String value = getProperty(ASYNC_EVENT_EXECUTOR);
+        return value == null || value.trim().length() == 0 ? "default" : value.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * @return the number of threads of the Executor for async observer methods
+     * @see #ASYNC_EVENT_EXECUTOR_THREADS
+     */
+    public int getAsyncEventExecutorThreads()
+    {
+        return getThreadCount(ASYNC_EVENT_EXECUTOR_THREADS, 0);
+    }
+
+    /**
+     * @return {@code true} if async observer methods should run in the contexts of the thread firing the event
+     * @see #ASYNC_EVENT_REQUEST_CONTEXT
+     */
+    public boolean isPropagateContextsToAsyncObservers()
+    {
+        String value = getProperty(ASYNC_EVENT_REQUEST_CONTEXT);
+        if (value == null || value.trim().length() == 0 || "new".equalsIgnoreCase(value.trim()))
+        {
+            return false;
+        }
+        if ("propagate".equalsIgnoreCase(value.trim()))
+        {
+            return true;
+        }
+        throw new WebBeansConfigurationException(ASYNC_EVENT_REQUEST_CONTEXT + " must be either 'new' or 'propagate' but is " + value);
+    }
+
+    /**
+     * Parses a thread count where {@code 0} stands for the number of available processors.
+     */
+    private int getThreadCount(String key, int defaultValue)
+    {
+        String value = getProperty(key);
+        if (value == null || value.trim().length() == 0)
+        {
+            return defaultValue == 0 ? Runtime.getRuntime().availableProcessors() : defaultValue;
+        }
+
+        int threads;
+        try
+        {
+            threads = Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException nfe)
+        {
+            throw new WebBeansConfigurationException(key + " must be an integer value but is " + value);
+        }
+
+        if (threads < 0)
+        {
+            throw new WebBeansConfigurationException(key + " must not be negative but is " + value);
+        }
+        return threads == 0 ? Runtime.getRuntime().availableProcessors() : threads;
+    }
+
     public synchronized Set<String> getIgnoredInterfaces()
     {
         if (ignoredInterfaces == null)
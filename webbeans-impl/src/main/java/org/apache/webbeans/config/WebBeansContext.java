@@ -41,6 +41,7 @@ import org.apache.webbeans.deployment.StereoTypeManager;
 import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.inject.AlternativesManager;
+import org.apache.webbeans.inject.MemberInvokers;
 import org.apache.webbeans.inject.impl.InjectionPointFactory;
 import org.apache.webbeans.intercept.InterceptorResolutionService;
 import org.apache.webbeans.intercept.InterceptorUtil;
@@ -95,6 +96,7 @@ public class WebBeansContext
     private final StereoTypeManager stereoTypeManager = new StereoTypeManager();
     private final AnnotationManager annotationManager;
     private final InjectionPointFactory injectionPointFactory = new InjectionPointFactory(this);
+    private final MemberInvokers memberInvokers = new MemberInvokers(this);
     private final InterceptorUtil interceptorUtil = new InterceptorUtil(this);
     private final SecurityService securityService;
     private final LoaderService loaderService;
@@ -262,6 +264,11 @@ public class WebBeansContext
         return injectionPointFactory;
     }
 
+    public MemberInvokers getMemberInvokers()
+    {
+        return memberInvokers;
+    }
+
     public WebBeansUtil getWebBeansUtil()
     {
         return webBeansUtil;
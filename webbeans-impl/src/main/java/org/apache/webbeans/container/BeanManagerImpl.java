@@ -209,6 +209,18 @@ public class BeanManagerImpl implements BeanManager, Referenceable
      */
     private boolean afterDeploymentValidationFired;
 
+    /**
+     * Gets incremented whenever the set of beans changes.
+     * Allows callers to cache resolved beans and detect when they are stale.
+     */
+    private volatile int beanSetGeneration;
+
+    /**
+     * The next free slot per normal scope for beans stored in the {@link org.apache.webbeans.context.ContextualInstanceMap}.
+     * Each scope gets its own dense slots, so a context only needs as many slots as there are beans with its scope.
+     */
+    private final Map<Class<? extends Annotation>, Integer> contextSlotCounts = new HashMap<>();
+
     /**
      * we cache results of calls to {@link #isNormalScope(Class)} because
      * this doesn't change at runtime.
@@ -338,6 +350,24 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return OwbCDI.current().select(DefaultLiteral.INSTANCE);
     }
 
+    /**
+     * Only beans with a normal scope get stored in a context and thus get a slot.
+     * Third party beans are equal to the beans they wrap, so they keep using the map based lookup.
+     */
+    private void assignContextSlot(AbstractOwbBean<?> bean)
+    {
+        if (bean.getContextSlot() < 0 && !(bean instanceof ThirdpartyBeanImpl) && isNormalScope(bean.getScope()))
+        {
+            Integer slot = contextSlotCounts.get(bean.getScope());
+            if (slot == null)
+            {
+                slot = 0;
+            }
+            bean.setContextSlot(slot);
+            contextSlotCounts.put(bean.getScope(), slot + 1);
+        }
+    }
+
     /**
      * Add new bean to the BeanManager.
      * This will also set OWBs {@link #inUse} status.
@@ -363,6 +393,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         {
             addPassivationInfo(newBean);
             deploymentBeans.add(newBean);
+            assignContextSlot((AbstractOwbBean<?>) newBean);
         }
         else
         {
@@ -380,6 +411,13 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             thirdPartyMapping.put(newBean, bean);
         }
 
+        beanSetGeneration++;
+        if (afterDeploymentValidationFired)
+        {
+            // the set of beans changed, so all resolved beans might be stale
+            injectionResolver.clearCaches();
+        }
+
         return this;
     }
 
@@ -1459,6 +1497,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         singleContextMap.clear();
         contextMap.clear();
         deploymentBeans.clear();
+        beanSetGeneration++;
         errorStack.clear();
         producersForJavaEeComponents.clear();
         passivationBeans.clear();
@@ -1482,6 +1521,14 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return inUse;
     }
 
+    /**
+     * @return a number which changes whenever a bean gets added or the beans get cleared
+     */
+    public int getBeanSetGeneration()
+    {
+        return beanSetGeneration;
+    }
+
     public boolean isAfterDeploymentValidationFired()
     {
         return afterDeploymentValidationFired;
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import javax.enterprise.inject.spi.Bean;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index from every bean type known at the end of the deployment
+ * to the beans which satisfy this type.
+ *
+ * All the assignability checks got already performed when the index got built,
+ * so a lookup only needs to filter the candidates by their qualifiers.
+ *
+ * @see InjectionResolver#buildTypeIndex()
+ */
+final class BeanTypeIndex
+{
+    /**
+     * the bean got picked by the parameterized type check of the resolver
+     */
+    static final byte PARAMETERIZED_TYPE = 1;
+
+    /**
+     * the bean is a producer with a raw type equal to the required type
+     */
+    static final byte RAW_PRODUCER = 2;
+
+    /**
+     * the bean got picked by the fallback bean type check of the resolver
+     */
+    static final byte BEAN_TYPE = 4;
+
+    private final Map<Type, Entry> entries;
+
+    BeanTypeIndex(Map<Type, Entry> entries)
+    {
+        this.entries = entries;
+    }
+
+    /**
+     * @return the entry for the given required type or {@code null} if the type is not indexed
+     */
+    Entry get(Type type)
+    {
+        return entries.get(type);
+    }
+
+    int size()
+    {
+        return entries.size();
+    }
+
+    static final class Entry
+    {
+        /**
+         * all beans which matched the required type
+         */
+        final Bean<?>[] candidates;
+
+        /**
+         * the match flags of each candidate, same index as {@link #candidates}
+         */
+        final byte[] flags;
+
+        /**
+         * precomputed result for the &#064;Default qualifier, {@code null} if it must get resolved dynamically
+         */
+        Set<Bean<?>> defaultBeans;
+
+        /**
+         * precomputed result for the &#064;Any qualifier, {@code null} if it must get resolved dynamically
+         */
+        Set<Bean<?>> anyBeans;
+
+        Entry(Bean<?>[] candidates, byte[] flags)
+        {
+            this.candidates = candidates;
+            this.flags = flags;
+        }
+    }
+}
@@ -41,6 +41,9 @@ import org.apache.webbeans.util.SingleItemSet;
 import org.apache.webbeans.util.WebBeansUtil;
 
 import javax.enterprise.event.Event;
+import javax.enterprise.inject.AmbiguousResolutionException;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Default;
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.New;
 import javax.enterprise.inject.UnproxyableResolutionException;
@@ -53,9 +56,12 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -94,11 +100,30 @@ public class InjectionResolver
      */
     private Map<BeanCacheKey, Set<Bean<?>>> resolvedBeansByType = new ConcurrentHashMap<>();
 
+    /**
+     * Second level view on {@link #resolvedBeansByType} for non-delegate lookups without a BDA beans.xml.
+     * The qualifiers get compared by identity, so cache hits don't need to create a {@link BeanCacheKey}.
+     */
+    private Map<Type, QualifierResolutionCache> resolvedBeansByQualifiers = new ConcurrentHashMap<>();
+
     /**
      * This Map contains all resolved beans via it's ExpressionLanguage name.
      */
     private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
 
+    /**
+     * Frozen index of all bean types, only available after {@link #buildTypeIndex()} got invoked.
+     * If a required type is contained in this index we do not need to perform any assignability checks.
+     */
+    private volatile BeanTypeIndex typeIndex;
+
+    /**
+     * Frozen index of all EL names to their beans, only available after {@link #buildNameIndex()} got invoked.
+     * A name which is not contained in the index has no bean, so lookups of names which are no
+     * CDI beans at all, e.g. implicit EL objects, neither scan the beans nor fill up a cache.
+     */
+    private volatile Map<String, NameIndexEntry> nameIndex;
+
     private boolean startup;
     private boolean fastMatching;
 
@@ -129,8 +154,295 @@ public class InjectionResolver
      */
     public void clearCaches()
     {
+        typeIndex = null;
+        nameIndex = null;
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
+        resolvedBeansByQualifiers.clear();
+    }
+
+    /**
+     * Builds a frozen index from all bean types (and their type closure) of all enabled beans
+     * to the beans which satisfy them.
+     * This must only get invoked after the deployment got validated
+     * as the index does not get updated if the set of beans changes.
+     * Any call to {@link #clearCaches()} drops the index again.
+     */
+    public void buildTypeIndex()
+    {
+        if (webBeansContext.getScannerService().isBDABeansXmlScanningEnabled())
+        {
+            // the resolution depends on the beans.xml of the injection point, so we cannot precompute it
+            return;
+        }
+
+        Map<Class<?>, Set<Bean<?>>> beansByRawType = new HashMap<>();
+        List<Bean<?>> beansWithIrregularTypes = new ArrayList<>();
+        Set<Type> indexedTypes = new HashSet<>();
+
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (!((OwbBean) bean).isEnabled())
+            {
+                continue;
+            }
+
+            for (Type beanType : bean.getTypes())
+            {
+                Class<?> rawType = ClassUtil.getRawPrimitiveType(beanType);
+                if (rawType == null)
+                {
+                    // TypeVariables, GenericArrayTypes, etc might match any required type
+                    beansWithIrregularTypes.add(bean);
+                    continue;
+                }
+
+                Set<Bean<?>> beans = beansByRawType.get(rawType);
+                if (beans == null)
+                {
+                    beans = new LinkedHashSet<>();
+                    beansByRawType.put(rawType, beans);
+                }
+                beans.add(bean);
+
+                if (!indexedTypes.contains(beanType))
+                {
+                    // if the type is already contained then its closure is as well
+                    indexedTypes.add(beanType);
+                    indexedTypes.addAll(GenericsUtil.getTypeClosure(beanType));
+                }
+            }
+        }
+
+        Map<Type, BeanTypeIndex.Entry> entries = new HashMap<>();
+        for (Type type : indexedTypes)
+        {
+            if (type instanceof ParameterizedType)
+            {
+                if (!GenericsUtil.containsTypeVariable(type))
+                {
+                    addTypeIndexEntry(entries, type, beansByRawType, beansWithIrregularTypes);
+                }
+
+                // raw lookups are valid for each generic type as well
+                addTypeIndexEntry(entries, ((ParameterizedType) type).getRawType(), beansByRawType, beansWithIrregularTypes);
+            }
+            else if (type instanceof Class)
+            {
+                addTypeIndexEntry(entries, type, beansByRawType, beansWithIrregularTypes);
+            }
+        }
+
+        typeIndex = new BeanTypeIndex(entries);
+
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.log(Level.FINE, "Built type index with " + entries.size() + " types");
+        }
+    }
+
+    /**
+     * Builds a frozen index from all EL names to the beans with this name and the bean they resolve to.
+     * Like {@link #buildTypeIndex()} this must only get invoked after the deployment got validated
+     * and any call to {@link #clearCaches()} drops the index again.
+     */
+    public void buildNameIndex()
+    {
+        Map<String, Set<Bean<?>>> beansByName = new HashMap<>();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            String name = bean.getName();
+            if (name != null)
+            {
+                Set<Bean<?>> beans = beansByName.get(name);
+                if (beans == null)
+                {
+                    beans = new HashSet<>();
+                    beansByName.put(name, beans);
+                }
+                beans.add(bean);
+            }
+        }
+
+        Map<String, NameIndexEntry> entries = new HashMap<>();
+        for (Map.Entry<String, Set<Bean<?>>> entry : beansByName.entrySet())
+        {
+            Set<Bean<?>> beans = Collections.unmodifiableSet(entry.getValue());
+            Bean<?> resolved;
+            try
+            {
+                resolved = resolve((Set) beans, null);
+            }
+            catch (AmbiguousResolutionException e)
+            {
+                // keep the exception for the actual lookup
+                resolved = null;
+            }
+            entries.put(entry.getKey(), new NameIndexEntry(beans, resolved));
+        }
+
+        nameIndex = entries;
+
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.log(Level.FINE, "Built name index with " + entries.size() + " names");
+        }
+    }
+
+    /**
+     * Resolves the bean with the given EL name.
+     *
+     * @param name bean name
+     * @return the resolved bean or {@code null} if there is no bean with this name
+     * @throws AmbiguousResolutionException if the name is ambiguous
+     */
+    public Bean<?> resolveByName(String name)
+    {
+        Map<String, NameIndexEntry> currentNameIndex = nameIndex;
+        if (currentNameIndex != null)
+        {
+            NameIndexEntry entry = currentNameIndex.get(name);
+            if (entry == null)
+            {
+                return null;
+            }
+            if (entry.resolved != null)
+            {
+                return entry.resolved;
+            }
+        }
+
+        Set<Bean<?>> beans = implResolveByName(name);
+        return beans.isEmpty() ? null : resolve((Set) beans, null);
+    }
+
+    private void addTypeIndexEntry(Map<Type, BeanTypeIndex.Entry> entries, Type type,
+                                   Map<Class<?>, Set<Bean<?>>> beansByRawType, List<Bean<?>> beansWithIrregularTypes)
+    {
+        if (entries.containsKey(type) || type == Object.class)
+        {
+            // Object with @Default returns all beans and is better handled by the resolvedBeansByType cache
+            return;
+        }
+
+        Set<Bean<?>> possibleBeans = new LinkedHashSet<>();
+        Set<Bean<?>> sameRawType = beansByRawType.get(ClassUtil.getRawPrimitiveType(type));
+        if (sameRawType != null)
+        {
+            possibleBeans.addAll(sameRawType);
+        }
+        possibleBeans.addAll(beansWithIrregularTypes);
+
+        List<Bean<?>> candidates = new ArrayList<>(possibleBeans.size());
+        List<Byte> flags = new ArrayList<>(possibleBeans.size());
+        for (Bean<?> bean : possibleBeans)
+        {
+            boolean isProducer = AbstractProducerBean.class.isInstance(bean);
+            boolean typeMatch = false;
+            byte beanFlags = 0;
+            for (Type beanType : bean.getTypes())
+            {
+                boolean rawEquals = ClassUtil.isRawClassEquals(type, beanType);
+                boolean satisfies = GenericsUtil.satisfiesDependency(false, isProducer, type, beanType);
+
+                typeMatch |= fastMatching ? rawEquals : satisfies;
+                if (satisfies)
+                {
+                    beanFlags |= BeanTypeIndex.PARAMETERIZED_TYPE | BeanTypeIndex.BEAN_TYPE;
+                }
+                if (isProducer && beanType instanceof Class && rawEquals)
+                {
+                    beanFlags |= BeanTypeIndex.RAW_PRODUCER;
+                }
+                if (!ClassUtil.isParametrizedType(type) && rawEquals)
+                {
+                    beanFlags |= BeanTypeIndex.BEAN_TYPE;
+                }
+            }
+
+            if (typeMatch)
+            {
+                candidates.add(bean);
+                flags.add(beanFlags);
+            }
+        }
+
+        if (candidates.isEmpty())
+        {
+            return;
+        }
+
+        byte[] flagArray = new byte[flags.size()];
+        for (int i = 0; i < flagArray.length; i++)
+        {
+            flagArray[i] = flags.get(i);
+        }
+
+        BeanTypeIndex.Entry entry = new BeanTypeIndex.Entry(candidates.toArray(new Bean<?>[candidates.size()]), flagArray);
+        entry.defaultBeans = resolveFromTypeIndex(entry, DefaultLiteral.ARRAY);
+        entry.anyBeans = resolveFromTypeIndex(entry, AnyLiteral.ARRAY);
+        entries.put(type, entry);
+    }
+
+    /**
+     * Filters the precomputed candidates of the given index entry by the qualifiers
+     * and applies the same rules as {@link #findByParameterizedType(Set, Type, boolean)}
+     * and {@link #findByBeanType(Set, Type, boolean)}.
+     *
+     * @return the resolved beans or {@code null} if this needs to be resolved dynamically
+     */
+    private Set<Bean<?>> resolveFromTypeIndex(BeanTypeIndex.Entry entry, Annotation[] qualifiers)
+    {
+        Set<Bean<?>> byParameterizedType = new HashSet<>();
+        Set<Bean<?>> byBeanType = new HashSet<>();
+        Bean<?> rawProducerBean = null;
+        boolean found = false;
+
+        for (int i = 0; i < entry.candidates.length; i++)
+        {
+            Bean<?> candidate = entry.candidates[i];
+            if (!hasQualifiers(candidate, qualifiers))
+            {
+                continue;
+            }
+
+            found = true;
+            byte flags = entry.flags[i];
+            if ((flags & BeanTypeIndex.PARAMETERIZED_TYPE) != 0)
+            {
+                byParameterizedType.add(candidate);
+            }
+            if ((flags & BeanTypeIndex.RAW_PRODUCER) != 0)
+            {
+                rawProducerBean = candidate;
+            }
+            if ((flags & BeanTypeIndex.BEAN_TYPE) != 0)
+            {
+                byBeanType.add(candidate);
+            }
+        }
+
+        if (!found && qualifiers.length == 1 && New.class.equals(qualifiers[0].annotationType()))
+        {
+            // @New creates a new component, let the dynamic resolution handle this
+            return null;
+        }
+
+        if (!byParameterizedType.isEmpty())
+        {
+            return byParameterizedType;
+        }
+        if (rawProducerBean != null)
+        {
+            byParameterizedType.add(rawProducerBean);
+            return byParameterizedType;
+        }
+        return byBeanType;
+    }
+
+    private static boolean isSingleQualifier(Annotation[] qualifiers, Class<? extends Annotation> qualifierType)
+    {
+        return qualifiers.length == 1 && qualifiers[0].annotationType() == qualifierType;
     }
 
     /**
@@ -356,6 +668,13 @@ public class InjectionResolver
     {
         Asserts.assertNotNull(name, "name parameter");
 
+        Map<String, NameIndexEntry> currentNameIndex = nameIndex;
+        if (currentNameIndex != null)
+        {
+            NameIndexEntry entry = currentNameIndex.get(name);
+            return entry != null ? entry.beans : Collections.<Bean<?>>emptySet();
+        }
+
         String cacheKey = name;
         Set<Bean<?>> resolvedComponents = resolvedBeansByName.get(cacheKey);
         if (resolvedComponents != null)
@@ -458,14 +777,62 @@ public class InjectionResolver
 
         validateInjectionPointType(injectionPointType);
 
+        BeanTypeIndex currentTypeIndex = typeIndex;
+        BeanTypeIndex.Entry typeIndexEntry = null;
+        if (currentTypeIndex != null && !isDelegate && bdaBeansXMLFilePath == null)
+        {
+            typeIndexEntry = currentTypeIndex.get(injectionPointType);
+            if (typeIndexEntry != null)
+            {
+                if (typeIndexEntry.defaultBeans != null && isSingleQualifier(qualifiers, Default.class))
+                {
+                    return typeIndexEntry.defaultBeans;
+                }
+                if (typeIndexEntry.anyBeans != null && isSingleQualifier(qualifiers, Any.class))
+                {
+                    return typeIndexEntry.anyBeans;
+                }
+            }
+        }
+
+        boolean qualifierCacheable = !isDelegate && bdaBeansXMLFilePath == null;
+        if (qualifierCacheable)
+        {
+            QualifierResolutionCache qualifierCache = resolvedBeansByQualifiers.get(injectionPointType);
+            if (qualifierCache != null)
+            {
+                Set<Bean<?>> resolvedComponents = qualifierCache.get(qualifiers);
+                if (resolvedComponents != null)
+                {
+                    return resolvedComponents;
+                }
+            }
+        }
+
         BeanCacheKey cacheKey = new BeanCacheKey(isDelegate, injectionPointType, bdaBeansXMLFilePath, qualifiers);
 
         Set<Bean<?>> resolvedComponents = resolvedBeansByType.get(cacheKey);
         if (resolvedComponents != null)
         {
+            if (qualifierCacheable)
+            {
+                // same qualifiers but other instances, remember those as well
+                cacheByQualifiers(injectionPointType, qualifiers, resolvedComponents);
+            }
             return resolvedComponents;
         }
 
+        if (typeIndexEntry != null)
+        {
+            resolvedComponents = resolveFromTypeIndex(typeIndexEntry, qualifiers);
+            if (resolvedComponents != null)
+            {
+                resolvedBeansByType.put(cacheKey, resolvedComponents);
+                cacheByQualifiers(injectionPointType, qualifiers, resolvedComponents);
+                return resolvedComponents;
+            }
+        }
+
         resolvedComponents = new HashSet<>();
 
         boolean returnAll = injectionPointType.equals(Object.class) && currentQualifier;
@@ -539,6 +906,10 @@ public class InjectionResolver
         else
         {
             resolvedBeansByType.put(cacheKey, resolvedComponents);
+            if (qualifierCacheable)
+            {
+                cacheByQualifiers(injectionPointType, qualifiers, resolvedComponents);
+            }
         }
 
         if (logger.isLoggable(Level.FINE))
@@ -549,6 +920,12 @@ public class InjectionResolver
         return resolvedComponents;
     }
 
+    private void cacheByQualifiers(Type injectionPointType, Annotation[] qualifiers, Set<Bean<?>> resolvedComponents)
+    {
+        resolvedBeansByQualifiers.computeIfAbsent(injectionPointType, t -> new QualifierResolutionCache())
+                .put(qualifiers, resolvedComponents);
+    }
+
     private Set<Bean<?>> findByBeanType(Set<Bean<?>> allComponents, Type injectionPointType, boolean isDelegate)
     {
         Set<Bean<?>> resolved = new HashSet<>();
@@ -754,38 +1131,7 @@ public class InjectionResolver
         while (it.hasNext())
         {
             Bean<?> component = it.next();
-            Set<Annotation> qTypes = component.getQualifiers();
-
-            int i = 0;
-            for (Annotation annot : annotations)
-            {
-                Iterator<Annotation> itQualifiers = qTypes.iterator();
-                while (itQualifiers.hasNext())
-                {
-                    Annotation qualifier = itQualifiers.next();
-                    if (annot.annotationType().equals(qualifier.annotationType()))
-                    {
-                        AnnotatedType<?> at = webBeansContext.getBeanManagerImpl().getAdditionalAnnotatedTypeQualifiers().get(qualifier.annotationType());
-                        if (at == null)
-                        {
-                            if (AnnotationUtil.isCdiAnnotationEqual(qualifier, annot))
-                            {
-                                i++;
-                            }
-                        }
-                        else
-                        {
-                            if (AnnotationUtil.isCdiAnnotationEqual(at, qualifier, annot))
-                            {
-                                i++;
-                            }
-                        }
-                    }
-
-                }
-            }
-
-            if (i == annotations.length)
+            if (hasQualifiers(component, annotations))
             {
                 result.add(component);
             }
@@ -808,4 +1154,59 @@ public class InjectionResolver
 
         return result;
     }
+
+    /**
+     * @return {@code true} if the given bean has all the given qualifiers
+     */
+    private boolean hasQualifiers(Bean<?> component, Annotation[] annotations)
+    {
+        Set<Annotation> qTypes = component.getQualifiers();
+
+        int i = 0;
+        for (Annotation annot : annotations)
+        {
+            Iterator<Annotation> itQualifiers = qTypes.iterator();
+            while (itQualifiers.hasNext())
+            {
+                Annotation qualifier = itQualifiers.next();
+                if (annot.annotationType().equals(qualifier.annotationType()))
+                {
+                    AnnotatedType<?> at = webBeansContext.getBeanManagerImpl().getAdditionalAnnotatedTypeQualifiers().get(qualifier.annotationType());
+                    if (at == null)
+                    {
+                        if (AnnotationUtil.isCdiAnnotationEqual(qualifier, annot))
+                        {
+                            i++;
+                        }
+                    }
+                    else
+                    {
+                        if (AnnotationUtil.isCdiAnnotationEqual(at, qualifier, annot))
+                        {
+                            i++;
+                        }
+                    }
+                }
+
+            }
+        }
+
+        return i == annotations.length;
+    }
+
+    private static final class NameIndexEntry
+    {
+        private final Set<Bean<?>> beans;
+
+        /**
+         * The bean the name resolves to or {@code null} if the name is ambiguous.
+         */
+        private final Bean<?> resolved;
+
+        private NameIndexEntry(Set<Bean<?>> beans, Bean<?> resolved)
+        {
+            this.beans = beans;
+            this.resolved = resolved;
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import javax.enterprise.inject.spi.Bean;
+import java.lang.annotation.Annotation;
+import java.util.Set;
+
+/**
+ * Resolved beans of a single required type per qualifier combination.
+ *
+ * The qualifiers get compared by identity. Lookups with the same qualifier
+ * instances (e.g. from an injection point or an {@link javax.enterprise.inject.Instance})
+ * can thus be answered without creating a {@link BeanCacheKey}, which would need to
+ * sort the qualifiers and compare their members.
+ * Lookups with other qualifier instances simply miss this cache.
+ */
+final class QualifierResolutionCache
+{
+    /**
+     * Limits the number of qualifier combinations per type.
+     * Code which creates new AnnotationLiterals on each call would otherwise fill this cache
+     * without ever hitting it.
+     */
+    private static final int MAX_ENTRIES = 16;
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    /**
+     * copy on write, we only add entries and reading must be lock free.
+     */
+    private volatile Entry[] entries = EMPTY;
+
+    /**
+     * @return the resolved beans or {@code null} if those qualifier instances are not known yet
+     */
+    Set<Bean<?>> get(Annotation[] qualifiers)
+    {
+        Entry[] current = entries;
+        for (int i = 0; i < current.length; i++)
+        {
+            if (current[i].matches(qualifiers))
+            {
+                return current[i].beans;
+            }
+        }
+        return null;
+    }
+
+    synchronized void put(Annotation[] qualifiers, Set<Bean<?>> beans)
+    {
+        Entry[] current = entries;
+        if (current.length >= MAX_ENTRIES)
+        {
+            return;
+        }
+        for (Entry entry : current)
+        {
+            if (entry.matches(qualifiers))
+            {
+                return;
+            }
+        }
+
+        Entry[] newEntries = new Entry[current.length + 1];
+        System.arraycopy(current, 0, newEntries, 0, current.length);
+        newEntries[current.length] = new Entry(qualifiers.clone(), beans);
+        entries = newEntries;
+    }
+
+    private static final class Entry
+    {
+        private final Annotation[] qualifiers;
+        private final Set<Bean<?>> beans;
+
+        private Entry(Annotation[] qualifiers, Set<Bean<?>> beans)
+        {
+            this.qualifiers = qualifiers;
+            this.beans = beans;
+        }
+
+        private boolean matches(Annotation[] otherQualifiers)
+        {
+            if (qualifiers.length != otherQualifiers.length)
+            {
+                return false;
+            }
+            for (int i = 0; i < qualifiers.length; i++)
+            {
+                if (qualifiers[i] != otherQualifiers[i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.webbeans.context;
 import java.lang.annotation.Annotation;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import javax.enterprise.context.ContextException;
 import javax.enterprise.context.SessionScoped;
@@ -70,6 +71,40 @@ public abstract class AbstractContextsService implements ContextsService
         return getCurrentContext(scopeType);
     }
 
+    /**
+     * Get a {@link ContextAccessor} which directly returns the current Context of the given scope.
+     * The accessor must not create a Context lazily and must not perform any checks
+     * besides what {@link #getCurrentContext(Class)} does for an already started Context.
+     * Thus an implementation must not return an accessor if {@link #getCurrentContext(Class)}
+     * got overridden by a subclass which it doesn't know about.
+     *
+     * @return the accessor for the given scope or {@code null} if the scope is not supported
+     */
+    public ContextAccessor getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        return null;
+    }
+
+    /**
+     * Captures the contexts which are bound to the current thread,
+     * so they can get activated on another thread.
+     *
+     * @return the snapshot, {@link ContextsSnapshot#EMPTY} if this ContextsService doesn't support it
+     */
+    public ContextsSnapshot snapshotContexts()
+    {
+        return ContextsSnapshot.EMPTY;
+    }
+
+    /**
+     * Wraps the given Executor so that each task runs with the contexts
+     * which have been bound to the thread calling {@link Executor#execute(Runnable)}.
+     */
+    public Executor propagatingExecutor(final Executor executor)
+    {
+        return command -> executor.execute(snapshotContexts().wrap(command));
+    }
+
     @Override
     public void init(Object initializeObject)
     {
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import javax.enterprise.context.spi.Context;
+
+/**
+ * Direct access to the current {@link Context} of a single scope.
+ *
+ * An accessor gets obtained once via {@link AbstractContextsService#getContextAccessor(Class)}
+ * and allows the normal scoped proxies to skip the scope lookup in
+ * {@link org.apache.webbeans.container.BeanManagerImpl#getContext(Class)}
+ * on each invocation.
+ */
+public interface ContextAccessor
+{
+    /**
+     * @return the Context of the current thread or {@code null} if it did not get started yet.
+     *         Callers must fall back to {@link javax.enterprise.inject.spi.BeanManager#getContext(Class)}
+     *         if no active Context got returned.
+     */
+    Context getCurrentContext();
+}
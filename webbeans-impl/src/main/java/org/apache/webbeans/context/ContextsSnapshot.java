@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The contexts which have been bound to a thread at the time this snapshot got taken.
+ *
+ * A snapshot allows to continue the processing of a request on another thread,
+ * e.g. for async servlets, {@link java.util.concurrent.CompletableFuture} chains
+ * or virtual thread executors. The captured contexts get shared and not copied,
+ * so {@code @RequestScoped} beans keep their state and no context gets re-created.
+ * Activating a snapshot never starts or ends a context. The thread which originally
+ * owned the contexts is still responsible for ending them and must not do this
+ * before all the work it handed out is finished, unless the tasks register themselves
+ * via {@link RequestContext#acquire()} as the async observer methods do.
+ *
+ * @see AbstractContextsService#snapshotContexts()
+ */
+public final class ContextsSnapshot
+{
+    /**
+     * A snapshot which doesn't carry any context.
+     */
+    public static final ContextsSnapshot EMPTY = new ContextsSnapshot();
+
+    private final ThreadLocal<Object>[] threadLocals;
+    private final Object[] values;
+
+    /**
+     * Captures the values of the given ThreadLocals for the current thread.
+     */
+    @SuppressWarnings("unchecked")
+    public ContextsSnapshot(ThreadLocal<?>... threadLocals)
+    {
+        this.threadLocals = (ThreadLocal<Object>[]) threadLocals;
+        values = new Object[threadLocals.length];
+        for (int i = 0; i < threadLocals.length; i++)
+        {
+            values[i] = threadLocals[i].get();
+        }
+    }
+
+    /**
+     * Binds the captured contexts to the current thread.
+     * The returned {@link Activation} must get closed on the very same thread
+     * to restore the contexts which have been bound before.
+     */
+    public Activation activate()
+    {
+        Object[] previous = new Object[threadLocals.length];
+        for (int i = 0; i < threadLocals.length; i++)
+        {
+            previous[i] = threadLocals[i].get();
+            set(threadLocals[i], values[i]);
+        }
+        return new Activation(previous);
+    }
+
+    /**
+     * @return a Runnable which runs the given task with this snapshot being active
+     */
+    public Runnable wrap(final Runnable task)
+    {
+        if (threadLocals.length == 0)
+        {
+            return task;
+        }
+
+        return () ->
+        {
+            try (Activation activation = activate())
+            {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * @return a Callable which calls the given task with this snapshot being active
+     */
+    public <T> Callable<T> wrap(final Callable<T> task)
+    {
+        if (threadLocals.length == 0)
+        {
+            return task;
+        }
+
+        return () ->
+        {
+            try (Activation activation = activate())
+            {
+                return task.call();
+            }
+        };
+    }
+
+    private static void set(ThreadLocal<Object> threadLocal, Object value)
+    {
+        if (value == null)
+        {
+            // don't leave empty entries behind on pooled threads
+            threadLocal.remove();
+        }
+        else
+        {
+            threadLocal.set(value);
+        }
+    }
+
+    /**
+     * Restores the contexts which have been bound to the thread before the snapshot got activated.
+     */
+    public final class Activation implements AutoCloseable
+    {
+        private final Object[] previous;
+
+        private Activation(Object[] previous)
+        {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close()
+        {
+            for (int i = 0; i < threadLocals.length; i++)
+            {
+                set(threadLocals[i], previous[i]);
+            }
+        }
+    }
+}
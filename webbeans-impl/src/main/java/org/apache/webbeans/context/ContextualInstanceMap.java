@@ -0,0 +1,330 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.lang.annotation.Annotation;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.enterprise.context.spi.Contextual;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.container.SerializableBean;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+
+/**
+ * Storage for the contextual instances of a context.
+ *
+ * All normal scoped beans deployed via the BeanManager get a context slot assigned
+ * which is dense among the beans of the same scope.
+ * The instances of the beans with the scope of this map get stored in an array indexed by this slot,
+ * so a lookup neither needs {@link Object#hashCode()} nor {@link Object#equals(Object)} of the bean.
+ * All other {@link Contextual}s get stored in a {@link ConcurrentHashMap}.
+ * This map also gets consulted for beans which got stored before their slot got assigned.
+ *
+ * Reads are lock free, modifications of the slots are synchronized as the array might need to grow.
+ * {@link #entrySet()} returns a snapshot and not a view of this map.
+ */
+public class ContextualInstanceMap extends AbstractMap<Contextual<?>, BeanInstanceBag<?>>
+        implements ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final AtomicReferenceArray<BeanInstanceBag<?>> NO_BAGS = new AtomicReferenceArray<>(0);
+
+    private volatile AtomicReferenceArray<BeanInstanceBag<?>> bags = NO_BAGS;
+
+    /**
+     * The Contextual of each slot, only gets accessed while holding the lock of this map.
+     */
+    private Contextual<?>[] contextuals = new Contextual<?>[0];
+
+    private volatile int slotCount;
+
+    private final ConcurrentMap<Contextual<?>, BeanInstanceBag<?>> fallback = new ConcurrentHashMap<>();
+
+    /**
+     * The slots are only unique within a scope, beans of other scopes use the fallback.
+     */
+    private final Class<? extends Annotation> scope;
+
+    public ContextualInstanceMap(Class<? extends Annotation> scope)
+    {
+        this.scope = scope;
+    }
+
+    @Override
+    public BeanInstanceBag<?> get(Object key)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            return fallback.get(key);
+        }
+
+        AtomicReferenceArray<BeanInstanceBag<?>> currentBags = bags;
+        BeanInstanceBag<?> bag = slot < currentBags.length() ? currentBags.get(slot) : null;
+        if (bag == null && !fallback.isEmpty())
+        {
+            bag = fallback.get(key);
+        }
+        return bag;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    @Override
+    public BeanInstanceBag<?> put(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            return fallback.put(key, value);
+        }
+
+        synchronized (this)
+        {
+            ensureCapacity(slot);
+            BeanInstanceBag<?> old = bags.getAndSet(slot, value);
+            contextuals[slot] = key;
+            if (old == null)
+            {
+                slotCount++;
+                if (!fallback.isEmpty())
+                {
+                    old = fallback.remove(key);
+                }
+            }
+            return old;
+        }
+    }
+
+    @Override
+    public BeanInstanceBag<?> putIfAbsent(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            return fallback.putIfAbsent(key, value);
+        }
+
+        BeanInstanceBag<?> existing = get(key);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        synchronized (this)
+        {
+            ensureCapacity(slot);
+            existing = bags.get(slot);
+            if (existing != null)
+            {
+                return existing;
+            }
+            bags.set(slot, value);
+            contextuals[slot] = key;
+            slotCount++;
+            return null;
+        }
+    }
+
+    @Override
+    public BeanInstanceBag<?> remove(Object key)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            return fallback.remove(key);
+        }
+
+        synchronized (this)
+        {
+            BeanInstanceBag<?> old = null;
+            if (slot < bags.length())
+            {
+                old = bags.getAndSet(slot, null);
+                contextuals[slot] = null;
+            }
+            if (old != null)
+            {
+                slotCount--;
+            }
+            else if (!fallback.isEmpty())
+            {
+                old = fallback.remove(key);
+            }
+            return old;
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            return fallback.remove(key, value);
+        }
+
+        synchronized (this)
+        {
+            if (value == null || get(key) != value)
+            {
+                return false;
+            }
+            remove(key);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean replace(Contextual<?> key, BeanInstanceBag<?> oldValue, BeanInstanceBag<?> newValue)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            return fallback.replace(key, oldValue, newValue);
+        }
+
+        synchronized (this)
+        {
+            if (oldValue == null || get(key) != oldValue)
+            {
+                return false;
+            }
+            put(key, newValue);
+            return true;
+        }
+    }
+
+    @Override
+    public BeanInstanceBag<?> replace(Contextual<?> key, BeanInstanceBag<?> value)
+    {
+        int slot = getSlot(key);
+        if (slot < 0)
+        {
+            return fallback.replace(key, value);
+        }
+
+        synchronized (this)
+        {
+            return get(key) != null ? put(key, value) : null;
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return slotCount + fallback.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        bags = NO_BAGS;
+        contextuals = new Contextual<?>[0];
+        slotCount = 0;
+        fallback.clear();
+    }
+
+    @Override
+    public Set<Entry<Contextual<?>, BeanInstanceBag<?>>> entrySet()
+    {
+        List<Entry<Contextual<?>, BeanInstanceBag<?>>> entries = new ArrayList<>(size());
+        synchronized (this)
+        {
+            for (int slot = 0; slot < contextuals.length; slot++)
+            {
+                BeanInstanceBag<?> bag = bags.get(slot);
+                if (bag != null)
+                {
+                    entries.add(new SimpleImmutableEntry<Contextual<?>, BeanInstanceBag<?>>(contextuals[slot], bag));
+                }
+            }
+        }
+        for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> entry : fallback.entrySet())
+        {
+            entries.add(new SimpleImmutableEntry<>(entry));
+        }
+        return new HashSet<>(entries);
+    }
+
+    /**
+     * Must only get called while holding the lock of this map.
+     */
+    private void ensureCapacity(int slot)
+    {
+        AtomicReferenceArray<BeanInstanceBag<?>> currentBags = bags;
+        if (slot < currentBags.length())
+        {
+            return;
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, currentBags.length());
+        while (capacity <= slot)
+        {
+            capacity *= 2;
+        }
+
+        AtomicReferenceArray<BeanInstanceBag<?>> newBags = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < currentBags.length(); i++)
+        {
+            newBags.set(i, currentBags.get(i));
+        }
+        contextuals = Arrays.copyOf(contextuals, capacity);
+        bags = newBags;
+    }
+
+    /**
+     * @return the context slot of the given key or {@code -1} if it has none
+     */
+    private int getSlot(Object key)
+    {
+        if (key instanceof AbstractOwbBean)
+        {
+            AbstractOwbBean<?> bean = (AbstractOwbBean<?>) key;
+            return bean.getScope() == scope ? bean.getContextSlot() : -1;
+        }
+        if (key instanceof SerializableBean)
+        {
+            // a SerializableBean is equal to the bean it wraps
+            return getSlot(((SerializableBean<?>) key).getBean());
+        }
+        return -1;
+    }
+}
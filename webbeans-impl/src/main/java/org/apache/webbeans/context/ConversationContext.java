@@ -18,8 +18,6 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 import javax.enterprise.context.ConversationScoped;
 
 import org.apache.webbeans.config.WebBeansContext;
@@ -55,7 +53,7 @@ public class ConversationContext extends PassivatingContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new ConcurrentHashMap<>();
+        componentInstanceMap = new ContextualInstanceMap(getScope());
     }
 
     public ConversationImpl getConversation()
@@ -19,14 +19,19 @@
 package org.apache.webbeans.context;
 
 import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.creational.BeanInstanceBag;
@@ -35,6 +40,19 @@ import org.apache.webbeans.util.WebBeansUtil;
 /**
  * Base class for passivating contexts.
  * It basically provides serialisation support
+ *
+ * Besides the full serialisation via {@link Externalizable} a context can
+ * write a delta via {@link #writeDelta(ObjectOutput)} which only contains the dirty bean instances.
+ * A bean instance is dirty if it got created or looked up in this context since the last delta,
+ * or if it explicitly got marked via {@link #markDirty(Contextual)}.
+ * A receiver which keeps its own copy of the context applies the delta via {@link #readDelta(ObjectInput)}.
+ * OpenWebBeans itself doesn't write any delta, the session replication of the servlet container
+ * still serialises the whole context. The delta is meant for container integrations with a
+ * replication mechanism which keeps a copy of the context on the receiving side.
+ *
+ * The dirty state gets tracked per context and not per receiver. Thus a delta is only complete for
+ * a single receiver which applied all previous deltas of this context. Any other receiver
+ * must first get the full state via {@link #writeExternal(ObjectOutput)}.
  */
 public abstract class PassivatingContext extends AbstractContext implements Externalizable
 {
@@ -87,4 +105,140 @@ public abstract class PassivatingContext extends AbstractContext implements Exte
         out.writeObject(map);
     }
 
+    /**
+     * Marks the bag of the bean instance as dirty, so it is part of the next delta.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Contextual<T> component)
+    {
+        checkActive();
+
+        BeanInstanceBag<T> bag = (BeanInstanceBag<T>) componentInstanceMap.get(component);
+        if (bag == null)
+        {
+            return null;
+        }
+        bag.markDirty();
+        return bag.getBeanInstance();
+    }
+
+    /**
+     * Marks the bag of the bean instance as dirty, so it is part of the next delta.
+     */
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        T instance = super.getInstance(contextual, creationalContext);
+        markDirty(contextual);
+        return instance;
+    }
+
+    /**
+     * Makes the bean instance part of the next delta.
+     * Only needs to get called if the instance got changed without being looked up in this context,
+     * e.g. via a reference which is not a client proxy.
+     */
+    public void markDirty(Contextual<?> contextual)
+    {
+        BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+        if (bag != null)
+        {
+            bag.markDirty();
+        }
+    }
+
+    /**
+     * Writes the passivation ids of all beans of this context, but the bean instances
+     * only if they are dirty. The dirty instances get serialised together,
+     * so objects which they share stay shared on the receiver.
+     *
+     * @return the number of bean instances which got written
+     */
+    public int writeDelta(ObjectOutput out) throws IOException
+    {
+        List<String> ids = new ArrayList<>(componentInstanceMap.size());
+        Map<String, BeanInstanceBag<?>> dirtyBags = new HashMap<>();
+        for (Map.Entry<Contextual<?>, BeanInstanceBag<?>> beanBagEntry : componentInstanceMap.entrySet())
+        {
+            BeanInstanceBag<?> bag = beanBagEntry.getValue();
+            if (bag.getBeanInstance() == null)
+            {
+                // still gets created
+                continue;
+            }
+
+            String id = WebBeansUtil.getPassivationId(beanBagEntry.getKey());
+            if (id == null)
+            {
+                throw new NotSerializableException("cannot serialize " + beanBagEntry.getKey().toString());
+            }
+            ids.add(id);
+            if (bag.isDirty())
+            {
+                dirtyBags.put(id, bag);
+            }
+        }
+
+        // before the serialisation, so changes which happen meanwhile are part of the next delta
+        for (BeanInstanceBag<?> bag : dirtyBags.values())
+        {
+            bag.markWritten();
+        }
+
+        out.writeObject(ids.toArray(new String[ids.size()]));
+        try
+        {
+            out.writeObject(dirtyBags);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            for (BeanInstanceBag<?> bag : dirtyBags.values())
+            {
+                bag.markDirty();
+            }
+            throw e;
+        }
+        return dirtyBags.size();
+    }
+
+    /**
+     * Applies a delta written by {@link #writeDelta(ObjectOutput)} to this context.
+     * Bean instances which are not part of the delta anymore get removed without getting destroyed,
+     * as they already got destroyed on the side which wrote the delta.
+     */
+    @SuppressWarnings("unchecked")
+    public void readDelta(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+
+        String[] ids = (String[]) in.readObject();
+        Map<String, BeanInstanceBag<?>> dirtyBags = (Map<String, BeanInstanceBag<?>>) in.readObject();
+
+        Set<Contextual<?>> contained = new HashSet<>();
+        for (String id : ids)
+        {
+            Contextual<?> contextual = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(id);
+            if (contextual == null)
+            {
+                continue;
+            }
+            contained.add(contextual);
+
+            BeanInstanceBag<?> bag = dirtyBags.get(id);
+            if (bag != null)
+            {
+                componentInstanceMap.put(contextual, bag);
+            }
+        }
+
+        for (Contextual<?> contextual : new ArrayList<>(componentInstanceMap.keySet()))
+        {
+            if (!contained.contains(contextual))
+            {
+                componentInstanceMap.remove(contextual);
+            }
+        }
+    }
+
 }
@@ -18,12 +18,7 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.HashMap;
-
 import javax.enterprise.context.RequestScoped;
-import javax.enterprise.context.spi.Contextual;
-
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 /**
  * Request context implementation.
@@ -44,6 +39,16 @@ public class RequestContext extends AbstractContext
      */
     private Object httpSession;
 
+    /**
+     * Number of tasks which use this context on another thread, see {@link #acquire()}.
+     */
+    private transient int activations;
+
+    /**
+     * Whether {@link #destroy()} got called while there have been outstanding activations.
+     */
+    private transient boolean destroyPending;
+
     /*
     * Constructor
     */
@@ -55,7 +60,7 @@ public class RequestContext extends AbstractContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new HashMap<>();
+        componentInstanceMap = new ContextualInstanceMap(getScope());
     }
 
     /**
@@ -87,20 +92,76 @@ public class RequestContext extends AbstractContext
         return propagatedSessionContext;
     }
 
-    public Object getHttpSession()
+    /**
+     * Registers a task which uses this context on another thread, e.g. an async observer method.
+     * A {@link #destroy()} of the context gets deferred until each successful
+     * acquire got {@link #release() released}.
+     *
+     * @return {@code false} if the context is not active anymore or its destruction is already pending
+     */
+    public synchronized boolean acquire()
     {
-        return httpSession;
+        if (!isActive() || destroyPending)
+        {
+            return false;
+        }
+        activations++;
+        return true;
     }
 
-    public void setHttpSession(Object httpSession)
+    /**
+     * Ends a task registered via {@link #acquire()}.
+     * Destroys this context if it got ended while the task has been running.
+     */
+    public void release()
     {
-        this.httpSession = httpSession;
+        synchronized (this)
+        {
+            activations--;
+            if (activations > 0 || !destroyPending)
+            {
+                return;
+            }
+            destroyPending = false;
+        }
+        doDestroy();
     }
 
+    /**
+     * Destroys the contextual instances unless there are tasks which still use this context.
+     * In this case the last {@link #release()} destroys them.
+     */
     @Override
-    public void destroy(Contextual<?> contextual)
+    public void destroy()
     {
-        super.destroy(contextual);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        synchronized (this)
+        {
+            if (activations > 0)
+            {
+                destroyPending = true;
+                return;
+            }
+        }
+        doDestroy();
+    }
+
+    /**
+     * Actually destroys the contextual instances, either directly in {@link #destroy()}
+     * or deferred in the last {@link #release()}.
+     * Subclasses which need to clean up state the deferred tasks might still use have to do it here.
+     */
+    protected void doDestroy()
+    {
+        super.destroy();
+    }
+
+    public Object getHttpSession()
+    {
+        return httpSession;
+    }
+
+    public void setHttpSession(Object httpSession)
+    {
+        this.httpSession = httpSession;
     }
 }
@@ -18,12 +18,7 @@
  */
 package org.apache.webbeans.context;
 
-import java.util.concurrent.ConcurrentHashMap;
-
 import javax.enterprise.context.SessionScoped;
-import javax.enterprise.context.spi.Contextual;
-
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 
 /**
  * Session context implementation.
@@ -40,13 +35,6 @@ public class SessionContext extends PassivatingContext
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new ConcurrentHashMap<>();
-    }
-
-    @Override
-    public void destroy(Contextual<?> contextual)
-    {
-        super.destroy(contextual);
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
+        componentInstanceMap = new ContextualInstanceMap(getScope());
     }
 }
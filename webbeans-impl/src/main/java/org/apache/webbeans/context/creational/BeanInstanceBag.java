@@ -37,6 +37,13 @@ public class BeanInstanceBag<T> implements Serializable
     private T beanInstance;
     
     private final Lock lock = new ReentrantLock();
+
+    /**
+     * Whether the bean instance got written with the last delta of its context
+     * and didn't get marked as dirty since then.
+     * A new or deserialized bag counts as dirty.
+     */
+    private transient volatile boolean written;
     
     public BeanInstanceBag(CreationalContext<T> beanCreationalContext)
     {
@@ -85,6 +92,28 @@ public class BeanInstanceBag<T> implements Serializable
         return beanInstance; 
     }
 
+    /**
+     * @return whether the bean instance might have changed since it got written with the last delta
+     */
+    public boolean isDirty()
+    {
+        return !written;
+    }
+
+    public void markDirty()
+    {
+        // avoids a volatile write for each access of an already dirty bag
+        if (written)
+        {
+            written = false;
+        }
+    }
+
+    public void markWritten()
+    {
+        written = true;
+    }
+
     @Override
     public String toString()
     {
@@ -32,9 +32,9 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Stack;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /** {@inheritDoc} */
 public class CreationalContextImpl<T> implements CreationalContext<T>, Serializable
@@ -42,6 +42,10 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     //Default serial id
     private static final long serialVersionUID = 1L;
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CreationalContextImpl, DependentCreationalContext> DEPENDENTS
+        = AtomicReferenceFieldUpdater.newUpdater(CreationalContextImpl.class, DependentCreationalContext.class, "dependents");
+
     /**
      * The delegate object to be injected into delegate injection points
      */
@@ -58,11 +62,13 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private transient Stack<EventMetadata> eventMetadata;
 
     /**
-     * Contextual bean dependent instances
+     * Contextual bean dependent instances, the most recently added one first.
      *
-     * <p><b>ATTENTION</b> This variable gets initiated lazily!</p>
+     * <p>The dependents form an append only stack linked via {@link DependentCreationalContext#next},
+     * so adding a dependent is a single CAS and doesn't need any allocation besides the
+     * DependentCreationalContext itself. Removed dependents get claimed and unlinked lazily.</p>
      */
-    private List<DependentCreationalContext<?>> dependentObjects;
+    private transient volatile DependentCreationalContext<?> dependents;
 
     /**
      * Contains the currently created bean
@@ -192,67 +198,69 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         {
             DependentCreationalContext<K> dependentCreational = new DependentCreationalContext<>(dependent);
             dependentCreational.setInstance(instance);
+            push(dependentCreational);
+        }
+    }
 
-            synchronized(this)
-            {
-                if (dependentObjects == null)
-                {
-                    dependentObjects = new ArrayList<>();
-                }
-
-                if (dependent == bean)
-                {
-                    dependentObjects.add(0, dependentCreational);
-                }
-                else
-                {
-                    dependentObjects.add(dependentCreational);
-                }
-            }
+    private void push(DependentCreationalContext<?> dependentCreational)
+    {
+        DependentCreationalContext<?> head;
+        do
+        {
+            head = dependents;
+            dependentCreational.next = head;
         }
+        while (!DEPENDENTS.compareAndSet(this, head, dependentCreational));
     }
 
     public boolean containsDependent(Contextual<?> contextual, Object instance)
     {
-        if (dependentObjects == null)
+        for (DependentCreationalContext<?> dependent = dependents; dependent != null; dependent = dependent.next)
         {
-            return false;
+            if (dependent.getInstance() == instance && !dependent.isClaimed() && dependent.getContextual().equals(contextual))
+            {
+                return true;
+            }
         }
-        synchronized (this)
+        return false;
+    }
+
+    public <X> void destroyDependent(X instance)
+    {
+        for (DependentCreationalContext<?> dependent = dependents; dependent != null; dependent = dependent.next)
         {
-            for (DependentCreationalContext<?> dependentCreationalContext: dependentObjects)
+            if (dependent.getInstance() == instance && dependent.claim())
             {
-                if (dependentCreationalContext.getContextual().equals(contextual) && dependentCreationalContext.getInstance() == instance)
-                {
-                    return true;
-                }
+                Contextual<X> dependentContextual = (Contextual<X>) dependent.getContextual();
+                CreationalContext<X> creationalContext = (CreationalContext<X>)this;
+                dependentContextual.destroy(instance, creationalContext);
+                unlinkClaimed();
+                break;
             }
-            return false;
         }
     }
 
-    public <X> void destroyDependent(X instance)
+    /**
+     * Unlinks all claimed dependents except the head, which only gets unlinked once it isn't the head anymore.
+     * Concurrent unlinks might leave a claimed dependent in the chain. This is harmless as claims are final
+     * and the next unlink will catch it.
+     */
+    private void unlinkClaimed()
     {
-        if (dependentObjects == null)
+        DependentCreationalContext<?> previous = dependents;
+        if (previous == null)
         {
             return;
         }
-        synchronized (this)
+        for (DependentCreationalContext<?> current = previous.next; current != null; current = current.next)
         {
-            for (Iterator<DependentCreationalContext<?>> i = dependentObjects.iterator(); i.hasNext();)
+            if (current.isClaimed())
             {
-                DependentCreationalContext<?> dependentContext = i.next();
-                if (dependentContext.getInstance() == instance)
-                {
-                    Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
-                    CreationalContext<X> creationalContext = (CreationalContext<X>)this;
-                    dependentContextual.destroy(instance, creationalContext);
-                    if (dependentObjects != null)
-                    {
-                        i.remove();
-                    } // else previous destroy removed it
-                    break;
-                }
+                previous.next = current.next;
+            }
+            else
+            {
+                previous = current;
             }
         }
     }
@@ -260,37 +268,65 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     @SuppressWarnings("unchecked")
     public void removeAllDependents()
     {
-        if (dependentObjects == null || destroying)
+        if (dependents == null || destroying)
         {
             return;
         }
         
         destroying = true;
 
-        synchronized(this)
+        // this is kind of an emergency valve...
+        int maxRemoval = -1;
+        DependentCreationalContext<?> detached;
+        while ((detached = DEPENDENTS.getAndSet(this, null)) != null)
         {
-            if (dependentObjects != null)
+            // the destroyal might register a fresh PreDestroy interceptor as dependent object,
+            // those will get destroyed in the next round
+            List<DependentCreationalContext<?>> toDestroy = inDestructionOrder(detached);
+            if (maxRemoval < 0)
+            {
+                maxRemoval = toDestroy.size() * 3;
+            }
+            for (DependentCreationalContext<?> dependent : toDestroy)
             {
-                // this is kind of an emergency valve...
-                int maxRemoval = dependentObjects.size() * 3;
-                while (!dependentObjects.isEmpty() && maxRemoval > 0)
-                {
-                    // we don't use an iterator because the destroyal might register a 
-                    // fresh PreDestroy interceptor as dependent object...
-                    DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependentObjects.get(0);
-                    dependentObjects.remove(0);
-                    dependent.getContextual().destroy((T) dependent.getInstance(), this);
-                    maxRemoval--;
-                }
-                    
                 if (maxRemoval == 0)
                 {
                     throw new WebBeansException("infinite loop detected while destroying bean " + bean);
                 }
+                if (dependent.claim())
+                {
+                    ((Contextual<Object>) dependent.getContextual()).destroy(dependent.getInstance(), (CreationalContext<Object>) this);
+                    maxRemoval--;
+                }
             }
         }
+    }
 
-        dependentObjects = null;
+    /**
+     * The dependents get destroyed in the order they got added.
+     * Only the bean itself gets destroyed before all other dependents.
+     */
+    private List<DependentCreationalContext<?>> inDestructionOrder(DependentCreationalContext<?> head)
+    {
+        List<DependentCreationalContext<?>> ordered = new ArrayList<>();
+        int selfCount = 0;
+        for (DependentCreationalContext<?> dependent = head; dependent != null; dependent = dependent.next)
+        {
+            if (dependent.isClaimed())
+            {
+                continue;
+            }
+            if (dependent.getContextual() == bean)
+            {
+                // the most recently added one first
+                ordered.add(selfCount++, dependent);
+            }
+            else
+            {
+                ordered.add(selfCount, dependent);
+            }
+        }
+        return ordered;
     }
     
     /**
@@ -332,6 +368,19 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private void writeObject(ObjectOutputStream s)
     throws IOException
     {
+        // in the order they got added
+        List<DependentCreationalContext<?>> dependentObjects = null;
+        for (DependentCreationalContext<?> dependent = dependents; dependent != null; dependent = dependent.next)
+        {
+            if (!dependent.isClaimed())
+            {
+                if (dependentObjects == null)
+                {
+                    dependentObjects = new ArrayList<>();
+                }
+                dependentObjects.add(0, dependent);
+            }
+        }
         s.writeObject(dependentObjects);
 
         String id = WebBeansUtil.getPassivationId(bean);
@@ -354,7 +403,14 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     throws IOException, ClassNotFoundException
     {
         webBeansContext = WebBeansContext.currentInstance();
-        dependentObjects = (List<DependentCreationalContext<?>>)s.readObject();
+        List<DependentCreationalContext<?>> dependentObjects = (List<DependentCreationalContext<?>>)s.readObject();
+        if (dependentObjects != null)
+        {
+            for (DependentCreationalContext<?> dependent : dependentObjects)
+            {
+                push(dependent);
+            }
+        }
 
         String id = (String) s.readObject();
         if (id != null)
@@ -23,6 +23,7 @@ import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import javax.enterprise.context.spi.Contextual;
 
@@ -37,9 +38,23 @@ public class DependentCreationalContext<S> implements Serializable
 {
     private static final long serialVersionUID = 1L;
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<DependentCreationalContext> CLAIMED
+        = AtomicIntegerFieldUpdater.newUpdater(DependentCreationalContext.class, "claimed");
+
     private Contextual<S> contextual;
     
     private Object instance;
+
+    /**
+     * The next older dependent of the same {@link CreationalContextImpl}.
+     */
+    transient volatile DependentCreationalContext<?> next;
+
+    /**
+     * 1 once somebody took over the destruction of this dependent.
+     */
+    private transient volatile int claimed;
     
     /**
      * @return the instance
@@ -65,6 +80,19 @@ public class DependentCreationalContext<S> implements Serializable
     }
     
 
+    /**
+     * @return {@code true} if the caller is the one which has to destroy this dependent
+     */
+    boolean claim()
+    {
+        return CLAIMED.compareAndSet(this, 0, 1);
+    }
+
+    boolean isClaimed()
+    {
+        return claimed != 0;
+    }
+
     /**
      * @return the contextual
      */
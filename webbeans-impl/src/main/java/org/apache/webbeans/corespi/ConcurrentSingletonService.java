@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.util.Asserts;
+
+/**
+ * A {@link DefaultSingletonService} which doesn't need any lock for
+ * looking up an already existing WebBeansContext.
+ *
+ * The WebBeansContexts are stored in a copy-on-write array together with a
+ * weak reference to their ClassLoader. There is usually only a handful of
+ * applications per JVM, so a linear identity scan is cheaper than hashing and
+ * a single application only needs a single comparison.
+ * Like with the DefaultSingletonService the ClassLoaders are only weakly referenced,
+ * entries of garbage collected ClassLoaders get removed on the next modification.
+ *
+ * This service can be activated via
+ * {@link org.apache.webbeans.config.WebBeansFinder#setSingletonService(org.apache.webbeans.spi.SingletonService)}.
+ */
+public class ConcurrentSingletonService extends DefaultSingletonService
+{
+    private static final Entry[] EMPTY = new Entry[0];
+
+    /**
+     * copy on write, only modified while holding the lock on this instance
+     */
+    private volatile Entry[] entries = EMPTY;
+
+    @Override
+    public WebBeansContext get(Object key)
+    {
+        assertClassLoaderKey(key);
+        ClassLoader classLoader = (ClassLoader) key;
+
+        WebBeansContext webBeansContext = find(entries, classLoader);
+        if (webBeansContext != null)
+        {
+            return webBeansContext;
+        }
+
+        synchronized (this)
+        {
+            webBeansContext = find(entries, classLoader);
+            if (webBeansContext == null)
+            {
+                webBeansContext = new WebBeansContext();
+                add(classLoader, webBeansContext);
+            }
+
+            return webBeansContext;
+        }
+    }
+
+    @Override
+    public synchronized void register(ClassLoader key, WebBeansContext context)
+    {
+        if (find(entries, key) != null)
+        {
+            throw new IllegalArgumentException(key + " is already registered");
+        }
+        add(key, context);
+    }
+
+    @Override
+    public synchronized void clearInstances(ClassLoader classLoader)
+    {
+        Asserts.assertNotNull(classLoader, "classloader");
+        entries = copyLiveEntries(classLoader, 0);
+    }
+
+    private static WebBeansContext find(Entry[] currentEntries, ClassLoader classLoader)
+    {
+        for (int i = 0; i < currentEntries.length; i++)
+        {
+            Entry entry = currentEntries[i];
+            if (entry.classLoader.get() == classLoader)
+            {
+                return entry.webBeansContext;
+            }
+        }
+        return null;
+    }
+
+    private void add(ClassLoader classLoader, WebBeansContext webBeansContext)
+    {
+        Entry[] newEntries = copyLiveEntries(null, 1);
+        newEntries[newEntries.length - 1] = new Entry(classLoader, webBeansContext);
+        entries = newEntries;
+    }
+
+    /**
+     * @param removedClassLoader ClassLoader whose entry should not get copied or {@code null}
+     * @param additionalSlots number of empty slots at the end of the returned array
+     * @return all entries whose ClassLoader didn't get garbage collected yet
+     */
+    private Entry[] copyLiveEntries(ClassLoader removedClassLoader, int additionalSlots)
+    {
+        Entry[] currentEntries = entries;
+        List<Entry> liveEntries = new ArrayList<>(currentEntries.length);
+        for (Entry entry : currentEntries)
+        {
+            ClassLoader classLoader = entry.classLoader.get();
+            if (classLoader != null && classLoader != removedClassLoader)
+            {
+                liveEntries.add(entry);
+            }
+        }
+
+        if (liveEntries.isEmpty() && additionalSlots == 0)
+        {
+            return EMPTY;
+        }
+        return liveEntries.toArray(new Entry[liveEntries.size() + additionalSlots]);
+    }
+
+    private static final class Entry
+    {
+        private final WeakReference<ClassLoader> classLoader;
+        private final WebBeansContext webBeansContext;
+
+        private Entry(ClassLoader classLoader, WebBeansContext webBeansContext)
+        {
+            this.classLoader = new WeakReference<>(classLoader);
+            this.webBeansContext = webBeansContext;
+        }
+    }
+}
@@ -96,7 +96,7 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
      * Assert that key is classloader instance.
      * @param key key
      */
-    private void assertClassLoaderKey(Object key)
+    protected void assertClassLoaderKey(Object key)
     {
         if(!(key instanceof ClassLoader))
         {
@@ -33,22 +33,29 @@ import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.UrlSet;
 import org.apache.webbeans.util.WebBeansUtil;
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
 import org.apache.xbean.finder.AnnotationFinder;
 import org.apache.xbean.finder.ClassLoaders;
 import org.apache.xbean.finder.archive.Archive;
 import org.apache.xbean.finder.filter.Filter;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -95,6 +102,24 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     protected BDABeansXmlScanner bdaBeansXmlScanner;
     protected WebBeansContext webBeansContext;
 
+    /**
+     * The scan results of the previous start or {@code null} if no scan index is used.
+     */
+    private ScanIndex scanIndex;
+    private File scanIndexFile;
+    private String scanIndexEnvironment;
+
+    /**
+     * Bean archives which did not change since the last start and got taken from the {@link #scanIndex}.
+     */
+    private List<ScanIndex.ArchiveEntry> indexedArchives = Collections.emptyList();
+
+    /**
+     * key: URL#toExternalForm of the bean deployment URL
+     * value: the fingerprint of the archive taken before it got scanned
+     */
+    private Map<String, String> scannedFingerprints = Collections.emptyMap();
+
     protected AnnotationFinder initFinder()
     {
         if (finder != null)
@@ -108,12 +133,185 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         }
 
         Filter userFilter = webBeansContext().getService(Filter.class);
-        archive = new CdiArchive(beanArchiveService, WebBeansUtil.getCurrentClassLoader(), getBeanDeploymentUrls(), userFilter, getAdditionalArchive());
-        finder = new OwbAnnotationFinder(archive);
+        Map<String, URL> urls = getBeanDeploymentUrls();
+        if (scanIndex != null)
+        {
+            urls = selectArchivesToScan(urls);
+        }
+        int parallelism = getScanParallelism(urls.size());
+        if (parallelism > 1)
+        {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try
+            {
+                archive = new CdiArchive(beanArchiveService, WebBeansUtil.getCurrentClassLoader(), urls, userFilter, getAdditionalArchive(), pool);
+
+                // the archives get read ahead while the finder parses them
+                finder = new OwbAnnotationFinder(archive);
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+            logScanDurations();
+        }
+        else
+        {
+            archive = new CdiArchive(beanArchiveService, WebBeansUtil.getCurrentClassLoader(), urls, userFilter, getAdditionalArchive());
+            finder = new OwbAnnotationFinder(archive);
+        }
 
         return finder;
     }
 
+    /**
+     * Reads the scan index of the previous start if one is configured.
+     */
+    private void initScanIndex()
+    {
+        String indexFile = webBeansContext().getOpenWebBeansConfiguration().getScanIndexFile();
+        if (indexFile == null)
+        {
+            return;
+        }
+
+        // the archive content alone doesn't determine the scan result if a custom Filter is used
+        Filter userFilter = webBeansContext().getService(Filter.class);
+        scanIndexEnvironment = userFilter != null ? userFilter.getClass().getName() : "";
+        scanIndexFile = new File(indexFile);
+        scanIndex = ScanIndex.read(scanIndexFile, scanIndexEnvironment);
+    }
+
+    /**
+     * Picks up all unchanged bean archives from the scan index.
+     * @return the bean archives which need to get scanned
+     */
+    private Map<String, URL> selectArchivesToScan(Map<String, URL> urls)
+    {
+        Map<String, URL> archivesToScan = new LinkedHashMap<>();
+        indexedArchives = new ArrayList<>();
+        scannedFingerprints = new HashMap<>();
+
+        for (Map.Entry<String, URL> url : urls.entrySet())
+        {
+            String deploymentUrl = url.getValue().toExternalForm();
+            ScanIndex.ArchiveEntry indexedArchive = scanIndex.getUpToDate(deploymentUrl);
+            if (indexedArchive != null)
+            {
+                indexedArchives.add(indexedArchive);
+                continue;
+            }
+
+            archivesToScan.put(url.getKey(), url.getValue());
+
+            // the beans.xml of WEB-INF/classes gets merged with WEB-INF/beans.xml which is not part of the fingerprint
+            String fingerprint = ScanIndex.fingerprint(url.getValue());
+            if (fingerprint != null && !deploymentUrl.contains("WEB-INF/classes"))
+            {
+                scannedFingerprints.put(deploymentUrl, fingerprint);
+            }
+        }
+
+        if (logger.isLoggable(Level.FINE))
+        {
+            logger.fine("taking " + indexedArchives.size() + " of " + urls.size() + " bean archives from the scan index " + scanIndexFile);
+        }
+        return archivesToScan;
+    }
+
+    /**
+     * Writes all indexed and freshly scanned bean archives to the scan index.
+     */
+    private void storeScanIndex()
+    {
+        ScanIndex newScanIndex = new ScanIndex(scanIndexEnvironment);
+        for (ScanIndex.ArchiveEntry indexedArchive : indexedArchives)
+        {
+            newScanIndex.put(indexedArchive);
+        }
+
+        boolean changed = scanIndex.getEntries().size() != indexedArchives.size();
+        for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
+        {
+            String deploymentUrl = foundClasses.getUrl().toExternalForm();
+            String fingerprint = scannedFingerprints.get(deploymentUrl);
+            if (fingerprint != null && !ScanIndex.hasConditionalExcludes(foundClasses.getBeanArchiveInfo()))
+            {
+                newScanIndex.put(new ScanIndex.ArchiveEntry(deploymentUrl, fingerprint, foundClasses.getBeanArchiveInfo(),
+                        getIndexedClasses(foundClasses)));
+                changed = true;
+            }
+        }
+
+        if (!changed)
+        {
+            // nothing changed since the last start
+            return;
+        }
+
+        try
+        {
+            newScanIndex.write(scanIndexFile);
+            scanIndex = newScanIndex;
+        }
+        catch (IOException e)
+        {
+            if (logger.isLoggable(Level.WARNING))
+            {
+                logger.log(Level.WARNING, "cannot write the scan index " + scanIndexFile, e);
+            }
+        }
+    }
+
+    private Map<String, List<String>> getIndexedClasses(CdiArchive.FoundClasses foundClasses)
+    {
+        boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
+        Map<String, List<String>> classes = new LinkedHashMap<>();
+        for (String className : foundClasses.getClassNames())
+        {
+            if (!scanModeAnnotated)
+            {
+                classes.put(className, Collections.<String>emptyList());
+                continue;
+            }
+
+            // keep the annotations to be able to evaluate them again on the next start
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+            if (classInfo != null)
+            {
+                List<String> annotations = new ArrayList<>(classInfo.getAnnotations().size());
+                for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+                {
+                    annotations.add(annotationInfo.getName());
+                }
+                classes.put(className, annotations);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * @param archiveCount the number of bean archives to process
+     * @return the number of threads to use, {@code 1} if the archives should get processed sequentially
+     */
+    private int getScanParallelism(int archiveCount)
+    {
+        int parallelism = webBeansContext().getOpenWebBeansConfiguration().getScanParallelism();
+        return Math.max(1, Math.min(parallelism, archiveCount));
+    }
+
+    private void logScanDurations()
+    {
+        if (logger.isLoggable(Level.FINE))
+        {
+            for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
+            {
+                logger.fine("scanned bean archive " + foundClasses.getUrl().toExternalForm() + " with "
+                        + foundClasses.getClassNames().size() + " classes in " + foundClasses.getScanDuration() + " ms");
+            }
+        }
+    }
+
     protected Archive getAdditionalArchive()
     {
         return null;
@@ -147,6 +345,7 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
     {
         try
         {
+            initScanIndex();
             configure();
             initFinder();
         }
@@ -287,6 +486,9 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         finder = null;
         archive = null;
         loader = null;
+        scanIndex = null;
+        indexedArchives = Collections.emptyList();
+        scannedFingerprints = Collections.emptyMap();
     }
 
 
@@ -361,6 +563,17 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
             beanArchiveService = webBeansContext().getBeanArchiveService();
         }
 
+        if (scanIndex != null && beanArchiveService instanceof DefaultBeanArchiveService)
+        {
+            ScanIndex.ArchiveEntry indexedArchive = scanIndex.getUpToDateByBdaUrl(beanArchiveUrl.toExternalForm());
+            if (indexedArchive != null)
+            {
+                // no need to parse the beans.xml again
+                ((DefaultBeanArchiveService) beanArchiveService).registerBeanArchiveInformation(beanArchiveUrl, indexedArchive.getBeanArchiveInfo());
+                return;
+            }
+        }
+
         // just to trigger the creation
         beanArchiveService.getBeanArchiveInformation(beanArchiveUrl);
     }
@@ -376,49 +589,207 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         {
             beanClassesPerBda = new HashMap<>();
 
+            // the annotation checks use the BeanManager and thus always happen on this thread
+            List<BeanArchiveService.BeanArchiveInformation> beanArchiveInfos = new ArrayList<>();
+            List<List<String>> beanClassNames = new ArrayList<>();
             for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
             {
-                Set<Class<?>> classSet = new HashSet<>();
-                boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
-                for (String className : foundClasses.getClassNames())
+                beanArchiveInfos.add(foundClasses.getBeanArchiveInfo());
+                beanClassNames.add(getBeanClassNames(foundClasses));
+            }
+            for (ScanIndex.ArchiveEntry indexedArchive : indexedArchives)
+            {
+                BeanArchiveService.BeanArchiveInformation beanArchiveInfo = getBeanArchiveInformation(indexedArchive);
+                beanArchiveInfos.add(beanArchiveInfo);
+                beanClassNames.add(getBeanClassNames(indexedArchive, beanArchiveInfo));
+            }
+
+            if (scanIndex != null)
+            {
+                storeScanIndex();
+            }
+
+            int parallelism = getScanParallelism(beanArchiveInfos.size());
+            if (parallelism > 1)
+            {
+                loadBeanClassesInParallel(beanArchiveInfos, beanClassNames, parallelism);
+            }
+            else
+            {
+                for (int i = 0; i < beanArchiveInfos.size(); i++)
                 {
-                    try
-                    {
-                        if (scanModeAnnotated)
-                        {
-                            // in this case we need to find out whether we should keep this class in the Archive
-                            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
-                            if (classInfo == null || !isBeanAnnotatedClass(classInfo))
-                            {
-                                continue;
-                            }
-                        }
-
-                        Class<?> clazz = ClassUtil.getClassFromName(className);
-                        if (clazz != null)
-                        {
-                            // try to provoke a NoClassDefFoundError exception which is thrown
-                            // if some dependencies of the class are missing
-                            clazz.getDeclaredFields();
-
-                            // we can add this class cause it has been loaded completely
-                            classSet.add(clazz);
-                        }
-                    }
-                    catch (NoClassDefFoundError e)
-                    {
-                        if (logger.isLoggable(Level.WARNING))
-                        {
-                            logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
-                        }
-                    }
+                    beanClassesPerBda.put(beanArchiveInfos.get(i), loadBeanClasses(beanClassNames.get(i), true));
                 }
+            }
+        }
+        return beanClassesPerBda;
+    }
+
+    /**
+     * Loads the classes of each bean archive in a separate task.
+     * The tasks do not initialize the classes to not provoke deadlocks between
+     * static initializers which refer to each other. The classes get initialized
+     * afterwards on the calling thread in the same order as in the sequential scan.
+     */
+    private void loadBeanClassesInParallel(List<BeanArchiveService.BeanArchiveInformation> beanArchiveInfos,
+                                           List<List<String>> beanClassNames, int parallelism)
+    {
+        ClassLoader loader = WebBeansUtil.getCurrentClassLoader();
+        List<ForkJoinTask<Set<Class<?>>>> tasks = new ArrayList<>(beanClassNames.size());
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try
+        {
+            for (List<String> classNames : beanClassNames)
+            {
+                tasks.add(pool.submit(() -> loadBeanClasses(loader, classNames)));
+            }
+
+            List<Set<Class<?>>> loadedClasses = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<Set<Class<?>>> task : tasks)
+            {
+                loadedClasses.add(task.join());
+            }
+            for (int i = 0; i < loadedClasses.size(); i++)
+            {
+                beanClassesPerBda.put(beanArchiveInfos.get(i), initializeBeanClasses(loadedClasses.get(i)));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
 
-                beanClassesPerBda.put(foundClasses.getBeanArchiveInfo(), classSet);
+    private Set<Class<?>> initializeBeanClasses(Set<Class<?>> classes)
+    {
+        Iterator<Class<?>> it = classes.iterator();
+        while (it.hasNext())
+        {
+            Class<?> clazz = it.next();
+            try
+            {
+                Class.forName(clazz.getName(), true, clazz.getClassLoader());
+            }
+            catch (NoClassDefFoundError e)
+            {
+                if (logger.isLoggable(Level.WARNING))
+                {
+                    logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{clazz.getName(), e.toString()});
+                }
+                it.remove();
             }
+            catch (ClassNotFoundException e)
+            {
+                // cannot happen as the class got loaded by this very ClassLoader
+                throw new WebBeansDeploymentException(e);
+            }
+        }
+        return classes;
+    }
 
+    private Set<Class<?>> loadBeanClasses(ClassLoader loader, List<String> classNames)
+    {
+        Thread thread = Thread.currentThread();
+        ClassLoader oldLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try
+        {
+            return loadBeanClasses(classNames, false);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
         }
-        return beanClassesPerBda;
+    }
+
+    private List<String> getBeanClassNames(CdiArchive.FoundClasses foundClasses)
+    {
+        boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
+        if (!scanModeAnnotated)
+        {
+            return new ArrayList<>(foundClasses.getClassNames());
+        }
+
+        List<String> classNames = new ArrayList<>();
+        for (String className : foundClasses.getClassNames())
+        {
+            // in this case we need to find out whether we should keep this class in the Archive
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+            if (classInfo != null && isBeanAnnotatedClass(classInfo))
+            {
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    private BeanArchiveService.BeanArchiveInformation getBeanArchiveInformation(ScanIndex.ArchiveEntry indexedArchive)
+    {
+        try
+        {
+            return beanArchiveService.getBeanArchiveInformation(new URL(indexedArchive.getDeploymentUrl()));
+        }
+        catch (MalformedURLException e)
+        {
+            throw new WebBeansDeploymentException(e);
+        }
+    }
+
+    /**
+     * Bean archives taken from the scan index do not have any {@link AnnotationFinder.ClassInfo}.
+     * Thus only the indexed annotation names get checked via {@link #isBeanAnnotation(String)}.
+     */
+    private List<String> getBeanClassNames(ScanIndex.ArchiveEntry indexedArchive, BeanArchiveService.BeanArchiveInformation beanArchiveInfo)
+    {
+        if (BeanDiscoveryMode.ANNOTATED != beanArchiveInfo.getBeanDiscoveryMode())
+        {
+            return new ArrayList<>(indexedArchive.getClasses().keySet());
+        }
+
+        List<String> classNames = new ArrayList<>();
+        for (Map.Entry<String, List<String>> indexedClass : indexedArchive.getClasses().entrySet())
+        {
+            for (String annotationName : indexedClass.getValue())
+            {
+                if (isBeanAnnotation(annotationName))
+                {
+                    classNames.add(indexedClass.getKey());
+                    break;
+                }
+            }
+        }
+        return classNames;
+    }
+
+    private Set<Class<?>> loadBeanClasses(List<String> classNames, boolean initialize)
+    {
+        // keeps the order of the class names for the initialization
+        Set<Class<?>> classSet = new LinkedHashSet<>();
+        for (String className : classNames)
+        {
+            try
+            {
+                Class<?> clazz = ClassUtil.getClassFromName(className, initialize);
+                if (clazz != null)
+                {
+                    // try to provoke a NoClassDefFoundError exception which is thrown
+                    // if some dependencies of the class are missing
+                    clazz.getDeclaredFields();
+
+                    // we can add this class cause it has been loaded completely
+                    classSet.add(clazz);
+                }
+            }
+            catch (NoClassDefFoundError e)
+            {
+                if (logger.isLoggable(Level.WARNING))
+                {
+                    logger.log(Level.WARNING, OWBLogConst.WARN_0018, new Object[]{className, e.toString()});
+                }
+            }
+        }
+        return classSet;
     }
 
     /* (non-Javadoc)
@@ -456,8 +827,15 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
 
     protected boolean isBeanAnnotation(AnnotationFinder.AnnotationInfo annotationInfo)
     {
-        String annotationName = annotationInfo.getName();
+        return isBeanAnnotation(annotationInfo.getName());
+    }
 
+    /**
+     * @param annotationName the fully qualified name of a class level annotation
+     * @return true if the annotation is a scope or a stereotype
+     */
+    protected boolean isBeanAnnotation(String annotationName)
+    {
         // TODO add caches
 
         try
@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.BeanArchiveService.BeanArchiveInformation;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
+
+/**
+ * Persistent index of already scanned bean archives.
+ *
+ * For each bean archive it stores a fingerprint of the underlying jar or directory,
+ * the parsed beans.xml information and the names of all classes which passed the
+ * archive filter. On the next start all archives with an unchanged fingerprint
+ * can get picked up from this index without reading any bytecode.
+ *
+ * An archive entry gets invalidated if the fingerprint of its jar or directory changes.
+ * The whole index gets dropped if its format or the custom
+ * {@link org.apache.xbean.finder.filter.Filter} changes. Nothing else is taken into account,
+ * so archives whose beans.xml contains excludes with an &lt;if-class-available&gt;,
+ * &lt;if-class-not-available&gt; or &lt;if-system-property&gt; condition never get indexed.
+ * The same is true for WEB-INF/classes, as its beans.xml gets merged with WEB-INF/beans.xml.
+ *
+ * Only archives located in the local file system get indexed.
+ * Please note that this class is not thread safe.
+ */
+public class ScanIndex
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ScanIndex.class);
+
+    private static final int MAGIC = 0x4F574253;
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Describes everything which influences the scan result besides the archives themselves.
+     * The whole index gets dropped if this changes.
+     */
+    private final String environment;
+
+    /**
+     * key: URL#toExternalForm of the bean deployment URL
+     */
+    private final Map<String, ArchiveEntry> entries = new LinkedHashMap<>();
+
+    /**
+     * key: URL#toExternalForm of the beans.xml or the implicit bean archive
+     */
+    private final Map<String, ArchiveEntry> entriesByBdaUrl = new HashMap<>();
+
+    public ScanIndex(String environment)
+    {
+        this.environment = environment;
+    }
+
+    /**
+     * Reads the index from the given file.
+     * If the file doesn't exist, is corrupt or got written for another environment an empty index gets returned.
+     */
+    public static ScanIndex read(File indexFile, String environment)
+    {
+        ScanIndex scanIndex = new ScanIndex(environment);
+        if (!indexFile.isFile())
+        {
+            return scanIndex;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !environment.equals(in.readUTF()))
+            {
+                logger.fine("ignoring outdated scan index " + indexFile);
+                return scanIndex;
+            }
+
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++)
+            {
+                scanIndex.put(readEntry(in));
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            if (logger.isLoggable(Level.WARNING))
+            {
+                logger.log(Level.WARNING, "ignoring unreadable scan index " + indexFile, e);
+            }
+            return new ScanIndex(environment);
+        }
+
+        return scanIndex;
+    }
+
+    /**
+     * Writes the index to the given file.
+     * The content first gets written to a temporary file which then replaces the index file.
+     */
+    public void write(File indexFile) throws IOException
+    {
+        File parent = indexFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+        {
+            throw new IOException("cannot create directory " + parent);
+        }
+
+        File tmpFile = new File(parent, indexFile.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(environment);
+            out.writeInt(entries.size());
+            for (ArchiveEntry entry : entries.values())
+            {
+                writeEntry(out, entry);
+            }
+        }
+
+        try
+        {
+            Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e)
+        {
+            Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public void put(ArchiveEntry entry)
+    {
+        ArchiveEntry old = entries.put(entry.getDeploymentUrl(), entry);
+        if (old != null)
+        {
+            entriesByBdaUrl.remove(old.getBeanArchiveInfo().getBdaUrl());
+        }
+        entriesByBdaUrl.put(entry.getBeanArchiveInfo().getBdaUrl(), entry);
+    }
+
+    public void remove(String deploymentUrl)
+    {
+        ArchiveEntry old = entries.remove(deploymentUrl);
+        if (old != null)
+        {
+            entriesByBdaUrl.remove(old.getBeanArchiveInfo().getBdaUrl());
+        }
+    }
+
+    /**
+     * @param deploymentUrl URL#toExternalForm of the bean deployment URL
+     * @return the entry if the archive did not change since it got indexed, {@code null} otherwise
+     */
+    public ArchiveEntry getUpToDate(String deploymentUrl)
+    {
+        ArchiveEntry entry = entries.get(deploymentUrl);
+        return entry != null && entry.isUpToDate() ? entry : null;
+    }
+
+    /**
+     * @param bdaUrl URL#toExternalForm of the beans.xml or the implicit bean archive
+     * @return the entry if the archive did not change since it got indexed, {@code null} otherwise
+     */
+    public ArchiveEntry getUpToDateByBdaUrl(String bdaUrl)
+    {
+        ArchiveEntry entry = entriesByBdaUrl.get(bdaUrl);
+        return entry != null && entry.isUpToDate() ? entry : null;
+    }
+
+    public Collection<ArchiveEntry> getEntries()
+    {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    /**
+     * @return {@code true} if the excludes of the bean archive depend on the environment and thus can't get indexed
+     */
+    public static boolean hasConditionalExcludes(BeanArchiveInformation bdaInfo)
+    {
+        return bdaInfo instanceof DefaultBeanArchiveInformation && ((DefaultBeanArchiveInformation) bdaInfo).hasConditionalExcludes();
+    }
+
+    /**
+     * Calculates a cheap fingerprint of the given archive.
+     * For jars this is the size and the last modification time.
+     * For directories the number of files, their total size and the latest modification time get used.
+     *
+     * @return the fingerprint or {@code null} if the archive is not located in the local file system
+     */
+    public static String fingerprint(URL url)
+    {
+        File file = toFile(url);
+        if (file == null)
+        {
+            return null;
+        }
+
+        if (file.isFile())
+        {
+            return "f:" + file.length() + ':' + file.lastModified();
+        }
+
+        if (file.isDirectory())
+        {
+            try
+            {
+                DirectoryFingerprint fingerprint = new DirectoryFingerprint();
+                Files.walkFileTree(file.toPath(), fingerprint);
+                return fingerprint.toString();
+            }
+            catch (IOException e)
+            {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    private static File toFile(URL url)
+    {
+        String externalForm = url.toExternalForm();
+        if (externalForm.startsWith("jar:"))
+        {
+            int separator = externalForm.indexOf("!/");
+            externalForm = externalForm.substring("jar:".length(), separator > 0 ? separator : externalForm.length());
+        }
+
+        if (!externalForm.startsWith("file:"))
+        {
+            return null;
+        }
+
+        try
+        {
+            return new File(new URI(externalForm));
+        }
+        catch (URISyntaxException | IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    private static ArchiveEntry readEntry(DataInputStream in) throws IOException
+    {
+        String deploymentUrl = in.readUTF();
+        String fingerprint = in.readUTF();
+
+        DefaultBeanArchiveInformation bdaInfo = new DefaultBeanArchiveInformation(in.readUTF());
+        bdaInfo.setVersion(readString(in));
+        String discoveryMode = readString(in);
+        bdaInfo.setBeanDiscoveryMode(discoveryMode != null ? BeanDiscoveryMode.valueOf(discoveryMode) : null);
+        bdaInfo.setInterceptors(readList(in));
+        bdaInfo.setDecorators(readList(in));
+        bdaInfo.getAlternativeClasses().addAll(readList(in));
+        bdaInfo.getAlternativeStereotypes().addAll(readList(in));
+        bdaInfo.setExcludedClasses(readList(in));
+        bdaInfo.setExcludedPackages(readList(in));
+        bdaInfo.getAllowProxyingClasses().addAll(readList(in));
+
+        int classCount = in.readInt();
+        Map<String, List<String>> classes = new LinkedHashMap<>(classCount * 2);
+        for (int i = 0; i < classCount; i++)
+        {
+            classes.put(in.readUTF(), readList(in));
+        }
+
+        return new ArchiveEntry(deploymentUrl, fingerprint, bdaInfo, classes);
+    }
+
+    private static void writeEntry(DataOutputStream out, ArchiveEntry entry) throws IOException
+    {
+        out.writeUTF(entry.getDeploymentUrl());
+        out.writeUTF(entry.fingerprint);
+
+        BeanArchiveInformation bdaInfo = entry.getBeanArchiveInfo();
+        out.writeUTF(bdaInfo.getBdaUrl());
+        writeString(out, bdaInfo.getVersion());
+        writeString(out, bdaInfo.getBeanDiscoveryMode() != null ? bdaInfo.getBeanDiscoveryMode().name() : null);
+        writeList(out, bdaInfo.getInterceptors());
+        writeList(out, bdaInfo.getDecorators());
+        writeList(out, bdaInfo.getAlternativeClasses());
+        writeList(out, bdaInfo.getAlternativeStereotypes());
+        writeList(out, bdaInfo.getExcludedClasses());
+        writeList(out, bdaInfo.getExcludedPackages());
+        writeList(out, bdaInfo.getAllowProxyingClasses());
+
+        out.writeInt(entry.getClasses().size());
+        for (Map.Entry<String, List<String>> clazz : entry.getClasses().entrySet())
+        {
+            out.writeUTF(clazz.getKey());
+            writeList(out, clazz.getValue());
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException
+    {
+        out.writeBoolean(value != null);
+        if (value != null)
+        {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException
+    {
+        int size = in.readInt();
+        if (size < 0)
+        {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+        {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    private static void writeList(DataOutputStream out, List<String> values) throws IOException
+    {
+        if (values == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(values.size());
+        for (String value : values)
+        {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * The indexed information of a single bean archive.
+     */
+    public static final class ArchiveEntry
+    {
+        private final String deploymentUrl;
+        private final String fingerprint;
+        private final BeanArchiveInformation beanArchiveInfo;
+
+        /**
+         * key: the class name
+         * value: the class level annotations for archives with bean-discovery-mode 'annotated', an empty List otherwise
+         */
+        private final Map<String, List<String>> classes;
+
+        private Boolean upToDate;
+
+        public ArchiveEntry(String deploymentUrl, String fingerprint, BeanArchiveInformation beanArchiveInfo,
+                            Map<String, List<String>> classes)
+        {
+            this.deploymentUrl = deploymentUrl;
+            this.fingerprint = fingerprint;
+            this.beanArchiveInfo = beanArchiveInfo;
+            this.classes = classes;
+        }
+
+        public String getDeploymentUrl()
+        {
+            return deploymentUrl;
+        }
+
+        public BeanArchiveInformation getBeanArchiveInfo()
+        {
+            return beanArchiveInfo;
+        }
+
+        public Map<String, List<String>> getClasses()
+        {
+            return classes;
+        }
+
+        /**
+         * The fingerprint gets only calculated once per entry.
+         */
+        private boolean isUpToDate()
+        {
+            if (upToDate == null)
+            {
+                try
+                {
+                    upToDate = fingerprint.equals(fingerprint(new URL(deploymentUrl)));
+                }
+                catch (IOException e)
+                {
+                    upToDate = false;
+                }
+            }
+            return upToDate;
+        }
+    }
+
+    private static final class DirectoryFingerprint extends SimpleFileVisitor<Path>
+    {
+        private long fileCount;
+        private long totalSize;
+        private long lastModified;
+        private int nameHash;
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+        {
+            fileCount++;
+            totalSize += attrs.size();
+            lastModified = Math.max(lastModified, attrs.lastModifiedTime().toMillis());
+            nameHash += file.getFileName().toString().hashCode();
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "d:" + fileCount + ':' + totalSize + ':' + lastModified + ':' + nameHash;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.apache.xbean.finder.archive.CompositeArchive;
 import org.apache.xbean.finder.archive.FilteredArchive;
 import org.apache.xbean.finder.filter.Filter;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -35,6 +37,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * this delegate pattern is interesting
@@ -55,7 +59,20 @@ public class CdiArchive implements Archive
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
     {
-        Collection<Archive> archives = new ArrayList<>();
+        this(beanArchiveService, loader, urls, userFilter, customArchive, null);
+    }
+
+    /**
+     * @param pool if not {@code null} the bean archives get read in parallel on this pool.
+     *             Each archive gets read by a single task, the results get merged in the order of the given urls.
+     *             Only as many archives as the pool has threads get read ahead of the one which is currently
+     *             iterated, thus the pool must not get shut down before the first iteration is done.
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, ForkJoinPool pool)
+    {
+        List<Archive> archives = new ArrayList<>();
+        ReadAhead readAhead = pool != null ? new ReadAhead(pool) : null;
         boolean customAdded = false;
         for (URL url : urls.values())
         {
@@ -71,9 +88,20 @@ public class CdiArchive implements Archive
                 customAdded = true;
             }
 
-            classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
+            FoundClasses foundClasses = new FoundClasses(url, urlClasses, beanArchiveInfo);
+            classesByUrl.put(url.toExternalForm(), foundClasses);
+            if (readAhead != null)
+            {
+                PreloadedArchive preloadedArchive = new PreloadedArchive(archive, foundClasses, readAhead);
+                readAhead.archives.add(preloadedArchive);
+                archive = preloadedArchive;
+            }
             archives.add(archive);
         }
+        if (readAhead != null)
+        {
+            readAhead.start();
+        }
         if (!customAdded && customArchive != null)
         {
             archives.add(userFilter != null ? new FilteredArchive(customArchive, userFilter) : customArchive);
@@ -109,6 +137,7 @@ public class CdiArchive implements Archive
         private URL url;
         private Collection<String> classNames;
         private BeanArchiveInformation beanArchiveInfo;
+        private volatile long scanDuration = -1;
 
         public FoundClasses(URL url, Collection<String> classNames, BeanArchiveInformation beanArchiveInfo)
         {
@@ -131,5 +160,161 @@ public class CdiArchive implements Archive
         {
             return classNames;
         }
+
+        /**
+         * @return the time in milliseconds it took to read this archive
+         *         or {@code -1} if the archive did not get read upfront
+         */
+        public long getScanDuration()
+        {
+            return scanDuration;
+        }
+    }
+
+    /**
+     * Keeps a bounded number of archives read ahead of the archive which currently gets iterated.
+     * This way the IO of the next archives overlaps with the parsing of the current one
+     * without having the bytecode of the whole classpath in memory at once.
+     * Only gets used by the thread which iterates the archive.
+     */
+    private static final class ReadAhead
+    {
+        private final ForkJoinPool pool;
+        private final List<PreloadedArchive> archives = new ArrayList<>();
+        private int nextToSubmit;
+
+        private ReadAhead(ForkJoinPool pool)
+        {
+            this.pool = pool;
+        }
+
+        private void start()
+        {
+            for (int i = 0; i < pool.getParallelism(); i++)
+            {
+                submitNext();
+            }
+        }
+
+        private void submitNext()
+        {
+            if (nextToSubmit < archives.size())
+            {
+                PreloadedArchive archive = archives.get(nextToSubmit++);
+                archive.task = pool.submit(archive::preload);
+            }
+        }
+    }
+
+    /**
+     * Reads all filtered entries of an archive on the pool
+     * so that the sequential parsing doesn't need to wait for any IO.
+     */
+    private static final class PreloadedArchive implements Archive
+    {
+        private final Archive delegate;
+        private final FoundClasses foundClasses;
+        private final ReadAhead readAhead;
+        private ForkJoinTask<List<Entry>> task;
+        private boolean iterated;
+
+        private PreloadedArchive(Archive delegate, FoundClasses foundClasses, ReadAhead readAhead)
+        {
+            this.delegate = delegate;
+            this.foundClasses = foundClasses;
+            this.readAhead = readAhead;
+        }
+
+        private List<Entry> preload()
+        {
+            long start = System.nanoTime();
+
+            List<Entry> read = new ArrayList<>();
+            for (Entry entry : delegate)
+            {
+                read.add(new PreloadedEntry(entry));
+            }
+
+            foundClasses.scanDuration = (System.nanoTime() - start) / 1000000L;
+            return read;
+        }
+
+        @Override
+        public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+        {
+            return delegate.getBytecode(className);
+        }
+
+        @Override
+        public Class<?> loadClass(String className) throws ClassNotFoundException
+        {
+            return delegate.loadClass(className);
+        }
+
+        @Override
+        public Iterator<Entry> iterator()
+        {
+            if (iterated)
+            {
+                return delegate.iterator();
+            }
+            iterated = true;
+
+            // keep the number of read ahead archives constant
+            readAhead.submitNext();
+
+            // the bytecode only gets kept for the first pass
+            List<Entry> preloaded = task != null ? task.join() : preload();
+            task = null;
+            return preloaded.iterator();
+        }
+    }
+
+    private static final class PreloadedEntry implements Entry
+    {
+        private final Entry delegate;
+        private final byte[] bytecode;
+
+        private PreloadedEntry(Entry delegate)
+        {
+            this.delegate = delegate;
+            this.bytecode = read(delegate);
+        }
+
+        @Override
+        public String getName()
+        {
+            return delegate.getName();
+        }
+
+        @Override
+        public InputStream getBytecode() throws IOException
+        {
+            if (bytecode == null)
+            {
+                // let the original entry report the problem when the class really gets parsed
+                return delegate.getBytecode();
+            }
+            return new ByteArrayInputStream(bytecode);
+        }
+
+        private static byte[] read(Entry entry)
+        {
+            try (InputStream in = entry.getBytecode())
+            {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+                byte[] buffer = new byte[4096];
+                int read;
+                while ((read = in.read(buffer)) != -1)
+                {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            }
+            catch (IOException e)
+            {
+                return null;
+            }
+        }
     }
 }
@@ -36,14 +36,14 @@ import org.apache.webbeans.annotation.InitializedLiteral;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ApplicationContext;
+import org.apache.webbeans.context.ContextAccessor;
+import org.apache.webbeans.context.ContextsSnapshot;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.context.SingletonContext;
 import org.apache.webbeans.conversation.ConversationManager;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 
 
 public class DefaultContextsService extends AbstractContextsService
@@ -145,6 +145,59 @@ public class DefaultContextsService extends AbstractContextsService
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Subclasses get no accessor as they might override {@link #getCurrentContext(Class)},
+     * which the accessor would bypass. They can opt in by overriding this method
+     * and returning {@link #getBuiltInContextAccessor(Class)}.
+     */
+    @Override
+    public ContextAccessor getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if (getClass() != DefaultContextsService.class)
+        {
+            return null;
+        }
+        return getBuiltInContextAccessor(scopeType);
+    }
+
+    /**
+     * @return direct access to the contexts held by this ContextsService
+     *         or {@code null} if the scope has no such context
+     */
+    protected ContextAccessor getBuiltInContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if (scopeType.equals(RequestScoped.class))
+        {
+            return requestContext::get;
+        }
+        else if (scopeType.equals(SessionScoped.class))
+        {
+            return sessionContext::get;
+        }
+        else if (scopeType.equals(ApplicationScoped.class))
+        {
+            return () -> applicationContext;
+        }
+        else if (scopeType.equals(Singleton.class))
+        {
+            return singletonContext::get;
+        }
+
+        // the ConversationContext gets checked for being busy when looked up
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ContextsSnapshot snapshotContexts()
+    {
+        return new ContextsSnapshot(requestContext, sessionContext, conversationContext, singletonContext, dependentContext);
+    }
+
 
     /**
      * {@inheritDoc}
@@ -195,7 +248,6 @@ public class DefaultContextsService extends AbstractContextsService
         if (requestCtx != null)
         {
             requestCtx.destroy();
-            RequestScopedBeanInterceptorHandler.removeThreadLocals();
             requestContext.set(null);
             requestContext.remove();
         }
@@ -204,7 +256,6 @@ public class DefaultContextsService extends AbstractContextsService
         if (sessionCtx != null)
         {
             sessionCtx.destroy();
-            SessionScopedBeanInterceptorHandler.removeThreadLocals();
             sessionContext.set(null);
             sessionContext.remove();
         }
@@ -410,7 +461,6 @@ public class DefaultContextsService extends AbstractContextsService
 
         requestContext.set(null);
         requestContext.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
     }
@@ -425,7 +475,6 @@ public class DefaultContextsService extends AbstractContextsService
 
         sessionContext.set(null);
         sessionContext.remove();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
             new Object(), DestroyedLiteral.INSTANCE_SESSION_SCOPED);
     }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.se;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.exception.ProxyGenerationException;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.DefiningClassService;
+
+/**
+ * {@link DefiningClassService} which defines the proxy classes via {@code MethodHandles.Lookup#defineClass}
+ * in the runtime package of the proxied class. Neither reflective access to
+ * {@code ClassLoader#defineClass} nor sun.misc.Unsafe is needed for this.
+ *
+ * This needs Java 9 or newer. On older JVMs and for proxy classes which cannot live in the package
+ * of the proxied class, the proxy class gets defined the default way.
+ */
+public class MethodHandlesDefiningClassService implements DefiningClassService
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(MethodHandlesDefiningClassService.class);
+
+    /**
+     * {@code MethodHandles.privateLookupIn(Class, Lookup)}
+     */
+    private final MethodHandle privateLookupIn;
+
+    /**
+     * {@code MethodHandles.Lookup#defineClass(byte[])}
+     */
+    private final MethodHandle defineClass;
+
+    public MethodHandlesDefiningClassService()
+    {
+        MethodHandle lookupIn = null;
+        MethodHandle define = null;
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            lookupIn = lookup.findStatic(MethodHandles.class, "privateLookupIn",
+                    MethodType.methodType(MethodHandles.Lookup.class, Class.class, MethodHandles.Lookup.class));
+            define = lookup.findVirtual(MethodHandles.Lookup.class, "defineClass", MethodType.methodType(Class.class, byte[].class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e)
+        {
+            // expected on Java 8, nothing the user needs to act on
+            logger.fine("MethodHandles.Lookup#defineClass needs Java 9 or newer, the proxy classes get defined via the ClassLoader");
+            lookupIn = null;
+            define = null;
+        }
+        privateLookupIn = lookupIn;
+        defineClass = define;
+    }
+
+    @Override
+    public <T> Class<T> defineAndLoad(ClassLoader classLoader, String name, byte[] bytecode, Class<?> proxiedClass)
+    {
+        if (defineClass == null || proxiedClass.getClassLoader() != classLoader || !isInPackageOf(name, proxiedClass))
+        {
+            return null;
+        }
+
+        MethodHandles.Lookup lookup;
+        try
+        {
+            lookup = (MethodHandles.Lookup) privateLookupIn.invoke(proxiedClass, MethodHandles.lookup());
+        }
+        catch (IllegalAccessException e)
+        {
+            // the module of the proxied class doesn't open its package to us
+            return null;
+        }
+        catch (Throwable t)
+        {
+            throw new ProxyGenerationException(t);
+        }
+
+        try
+        {
+            return (Class<T>) defineClass.invoke(lookup, bytecode);
+        }
+        catch (Throwable t)
+        {
+            throw new ProxyGenerationException(t);
+        }
+    }
+
+    private static boolean isInPackageOf(String name, Class<?> proxiedClass)
+    {
+        String proxiedName = proxiedClass.getName();
+        int nameSeparator = name.lastIndexOf('.');
+        int proxiedSeparator = proxiedName.lastIndexOf('.');
+        return nameSeparator == proxiedSeparator && name.regionMatches(0, proxiedName, 0, nameSeparator + 1);
+    }
+}
@@ -31,8 +31,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,12 +41,16 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.event.NotificationOptions;
 import javax.enterprise.event.ObserverException;
 import javax.enterprise.event.TransactionPhase;
@@ -80,7 +82,12 @@ import javax.enterprise.inject.spi.ProcessSyntheticBean;
 
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.OWBLogConst;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.AbstractContextsService;
+import org.apache.webbeans.context.ContextAccessor;
+import org.apache.webbeans.context.ContextsSnapshot;
+import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
@@ -90,6 +97,7 @@ import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
 import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
 import org.apache.webbeans.portable.events.generics.TwoParametersGenericBeanEvent;
+import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
@@ -97,12 +105,25 @@ import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.GenericsUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 
-public final class NotificationManager
+public final class NotificationManager implements Closeable
 {
     private final Map<Type, Set<ObserverMethod<?>>> observers = new ConcurrentHashMap<>();
     private final WebBeansContext webBeansContext;
 
-    private final NotificationOptions defaultNotificationOptions;
+    /**
+     * Gets lazily initialised with the first async event, see {@link #getDefaultNotificationOptions()}.
+     */
+    private volatile NotificationOptions defaultNotificationOptions;
+
+    /**
+     * The Executor for async observer methods if we created it ourselves and thus need to shut it down.
+     */
+    private ExecutorService ownedExecutor;
+
+    /**
+     * Only set if the contexts of the firing thread should get propagated to async observer methods.
+     */
+    private ContextAccessor requestContextAccessor;
 
     /**
      * Contains information whether certain Initialized and Destroyed events have observer methods.
@@ -116,6 +137,26 @@ public final class NotificationManager
     private final ConcurrentHashMap<Class<?>, Set<ObserverMethod<?>>> observersByRawType
         = new ConcurrentHashMap<>();
 
+    /**
+     * Priority ordered observer methods of events fired after the deployment,
+     * keyed by the runtime event class, the declared event type and the event qualifiers.
+     */
+    private final ConcurrentHashMap<DispatchKey, ObserverDispatch> dispatchTables
+        = new ConcurrentHashMap<>();
+
+    /**
+     * Whether a qualifier type has no members, keyed by the annotation type.
+     * Only events with such qualifiers get a dispatch table as member values like
+     * {@code @Named("x" + id)} would add a new table for each value.
+     */
+    private final ConcurrentHashMap<Class<? extends Annotation>, Boolean> memberlessQualifiers
+        = new ConcurrentHashMap<>();
+
+    /**
+     * Gets incremented whenever a new ObserverMethod gets registered.
+     * Used to detect dispatch tables which got computed concurrently to the registration.
+     */
+    private volatile int observerGeneration;
 
 
     public static final Set<Class> CONTAINER_EVENT_CLASSES = new HashSet<>(
@@ -143,7 +184,6 @@ public final class NotificationManager
     public NotificationManager(WebBeansContext webBeansContext)
     {
         this.webBeansContext = webBeansContext;
-        this.defaultNotificationOptions = NotificationOptions.ofExecutor(getDefaultExecutor());
     }
 
     private Executor getDefaultExecutor()
@@ -151,9 +191,90 @@ public final class NotificationManager
         // here it would be nice to support to use a produced bean like @Named("openwebbeansCdiExecutor")
         // instead of a direct spi
         //
-        // logic is: if an Executor is registered as a spi use it, otherwise use JVM default one
+        // logic is: if an Executor is registered as a spi use it, otherwise use the configured one
         Executor service = webBeansContext.getService(Executor.class);
-        return service != null ? service : new CloseableExecutor();
+        if (service != null)
+        {
+            return service;
+        }
+
+        OpenWebBeansConfiguration configuration = webBeansContext.getOpenWebBeansConfiguration();
+        String executorType = configuration.getAsyncEventExecutor();
+        if ("default".equals(executorType))
+        {
+            return new CloseableExecutor();
+        }
+        else if ("fixed".equals(executorType))
+        {
+            AtomicInteger threadCount = new AtomicInteger();
+            ownedExecutor = Executors.newFixedThreadPool(configuration.getAsyncEventExecutorThreads(), r ->
+            {
+                Thread thread = new Thread(r, "OpenWebBeans-async-event-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        else if ("forkjoin".equals(executorType))
+        {
+            ownedExecutor = new ForkJoinPool(configuration.getAsyncEventExecutorThreads());
+        }
+        else if ("virtual".equals(executorType))
+        {
+            try
+            {
+                // Java 21+, so we have to look it up reflectively
+                ownedExecutor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new WebBeansConfigurationException("Virtual threads for async observer methods require Java 21 or later", e);
+            }
+        }
+        else
+        {
+            throw new WebBeansConfigurationException("Unknown " + OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR + ": " + executorType);
+        }
+        return ownedExecutor;
+    }
+
+    private synchronized NotificationOptions initDefaultNotificationOptions()
+    {
+        if (defaultNotificationOptions == null)
+        {
+            ContextsService contextsService = webBeansContext.getContextsService();
+            if (webBeansContext.getOpenWebBeansConfiguration().isPropagateContextsToAsyncObservers()
+                && contextsService instanceof AbstractContextsService)
+            {
+                requestContextAccessor = ((AbstractContextsService) contextsService).getContextAccessor(RequestScoped.class);
+            }
+            defaultNotificationOptions = NotificationOptions.ofExecutor(getDefaultExecutor());
+        }
+        return defaultNotificationOptions;
+    }
+
+    /**
+     * Shuts down the Executor for async observer methods if it got created by OpenWebBeans.
+     */
+    @Override
+    public synchronized void close()
+    {
+        if (ownedExecutor == null)
+        {
+            return;
+        }
+
+        ownedExecutor.shutdownNow().forEach(r ->
+        {
+            try
+            {
+                r.run();
+            }
+            catch (RuntimeException re)
+            {
+                WebBeansLoggerFacade.getLogger(NotificationManager.class).warning(re.getMessage());
+            }
+        });
+        ownedExecutor = null;
     }
 
     /**
@@ -164,6 +285,7 @@ public final class NotificationManager
     public void clearCaches()
     {
         observersByRawType.clear();
+        dispatchTables.clear();
         hasContextLifecycleEventObservers.clear();
     }
 
@@ -217,6 +339,13 @@ public final class NotificationManager
         }
 
         set.add(observer);
+
+        observerGeneration++;
+        if (!observersByRawType.isEmpty() || !dispatchTables.isEmpty())
+        {
+            observersByRawType.clear();
+            dispatchTables.clear();
+        }
     }
 
 
@@ -658,7 +787,8 @@ public final class NotificationManager
 
     public NotificationOptions getDefaultNotificationOptions()
     {
-        return defaultNotificationOptions;
+        NotificationOptions notificationOptions = defaultNotificationOptions;
+        return notificationOptions != null ? notificationOptions : initDefaultNotificationOptions();
     }
 
     /**
@@ -674,23 +804,19 @@ public final class NotificationManager
             throw new IllegalArgumentException("Firing container events is forbidden");
         }
 
-        LinkedList<ObserverMethod<? super Object>> observerMethods = new LinkedList<>(resolveObservers(event, metadata, isLifecycleEvent));
-
-        // filter for all async or all synchronous observermethods
-        // oldschool and not Streams, because of performance and avoiding tons of temporary objects
-        Iterator<ObserverMethod<? super Object>> observerMethodIterator = observerMethods.iterator();
-        while (observerMethodIterator.hasNext())
+        ObserverMethod<? super Object>[] observerMethods;
+        if (!isLifecycleEvent && webBeansContext.getBeanManagerImpl().isAfterDeploymentValidationFired())
         {
-            if (async != observerMethodIterator.next().isAsync())
-            {
-                observerMethodIterator.remove();
-            }
+            ObserverDispatch dispatch = getObserverDispatch(event, metadata);
+            observerMethods = async ? dispatch.asyncObservers : dispatch.syncObservers;
+        }
+        else
+        {
+            observerMethods = sortObservers(resolveObservers(event, metadata, isLifecycleEvent), async);
         }
-
-        // new in CDI-2.0: sort observers
-        observerMethods.sort(Comparator.comparingInt(ObserverMethod::getPriority));
 
         List<CompletableFuture<Void>> completableFutures = async ? new ArrayList<>() : null;
+        PropagatedContexts propagatedContexts = async ? snapshotContextsForAsyncObservers() : null;
 
         for (ObserverMethod<? super Object> observer : observerMethods)
         {
@@ -725,7 +851,7 @@ public final class NotificationManager
                 {
                     if (async)
                     {
-                        completableFutures.add(invokeObserverMethodAsync(event, metadata, observer, notificationOptions));
+                        completableFutures.add(invokeObserverMethodAsync(event, metadata, observer, notificationOptions, propagatedContexts));
                     }
                     else
                     {
@@ -778,6 +904,76 @@ public final class NotificationManager
         return async ? complete(completableFutures, (T) event) : null;
     }
 
+    /**
+     * The set of observers of a specific event only changes if new ObserverMethods get added.
+     * We thus cache the priority ordered observers once the container is started.
+     * In this case firing an event only requires a lookup and a loop over the observer array.
+     */
+    private ObserverDispatch getObserverDispatch(Object event, EventMetadataImpl metadata)
+    {
+        Set<Annotation> qualifiers = metadata.getQualifiers();
+        int generation = observerGeneration;
+        if (!hasOnlyMemberlessQualifiers(qualifiers))
+        {
+            // don't cache, the qualifier values might be different for each event
+            Set<ObserverMethod<? super Object>> resolved = resolveObservers(event, metadata, false);
+            return new ObserverDispatch(generation, sortObservers(resolved, false), sortObservers(resolved, true));
+        }
+
+        DispatchKey key = new DispatchKey(event.getClass(), metadata.validatedType(), qualifiers);
+        ObserverDispatch dispatch = dispatchTables.get(key);
+        if (dispatch == null || dispatch.generation != generation)
+        {
+            Set<ObserverMethod<? super Object>> resolved = resolveObservers(event, metadata, false);
+            dispatch = new ObserverDispatch(generation, sortObservers(resolved, false), sortObservers(resolved, true));
+            if (generation == observerGeneration)
+            {
+                dispatchTables.put(key, dispatch);
+            }
+        }
+        return dispatch;
+    }
+
+    private boolean hasOnlyMemberlessQualifiers(Set<Annotation> qualifiers)
+    {
+        for (Annotation qualifier : qualifiers)
+        {
+            Class<? extends Annotation> annotationType = qualifier.annotationType();
+            Boolean memberless = memberlessQualifiers.get(annotationType);
+            if (memberless == null)
+            {
+                memberless = annotationType.getDeclaredMethods().length == 0;
+                memberlessQualifiers.put(annotationType, memberless);
+            }
+            if (!memberless)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * filter for all async or all synchronous observermethods and sort them by their priority.
+     */
+    private static ObserverMethod<? super Object>[] sortObservers(Set<ObserverMethod<? super Object>> observers, boolean async)
+    {
+        // oldschool and not Streams, because of performance and avoiding tons of temporary objects
+        List<ObserverMethod<? super Object>> observerMethods = new ArrayList<>(observers.size());
+        for (ObserverMethod<? super Object> observer : observers)
+        {
+            if (async == observer.isAsync())
+            {
+                observerMethods.add(observer);
+            }
+        }
+
+        // new in CDI-2.0: sort observers
+        observerMethods.sort(Comparator.comparingInt(ObserverMethod::getPriority));
+
+        return observerMethods.toArray(new ObserverMethod[observerMethods.size()]);
+    }
+
     private <T> CompletableFuture<T> complete(List<CompletableFuture<Void>> completableFutures, T event)
     {
         if (completableFutures == null)
@@ -793,33 +989,233 @@ public final class NotificationManager
         return future;
     }
 
-    private CompletableFuture invokeObserverMethodAsync(Object event,
-                                           EventMetadataImpl metadata,
-                                           ObserverMethod<? super Object> observer,
-                                           NotificationOptions notificationOptions)
+    /**
+     * Fires a batch of events to the async observer methods.
+     * All events must be of the same class, so the observer methods only get resolved once.
+     * Instead of one task per event and observer method, the batch gets split into one partition
+     * per thread of the Executor in use and each partition gets processed by a single task
+     * within a single request context.
+     *
+     * @return completes with the events once all observer methods got notified,
+     *         or exceptionally with the exceptions of all failed notifications as suppressed exceptions
+     */
+    public <T> CompletionStage<List<T>> fireEventsAsync(List<T> events, EventMetadataImpl metadata, NotificationOptions notificationOptions)
     {
-        CompletableFuture<?> future = new CompletableFuture<>();
-        CompletableFuture.runAsync(() -> {
+        if (events.isEmpty())
+        {
+            return CompletableFuture.completedFuture(events);
+        }
+
+        Object firstEvent = events.get(0);
+        for (T event : events)
+        {
+            if (event.getClass() != firstEvent.getClass())
+            {
+                throw new IllegalArgumentException("All events of a batch must be of the same class " + firstEvent.getClass().getName()
+                                                   + " but got " + event.getClass().getName());
+            }
+        }
+        if (webBeansContext.getWebBeansUtil().isContainerEventType(firstEvent))
+        {
+            throw new IllegalArgumentException("Firing container events is forbidden");
+        }
+
+        ObserverMethod<? super Object>[] observerMethods;
+        if (webBeansContext.getBeanManagerImpl().isAfterDeploymentValidationFired())
+        {
+            observerMethods = getObserverDispatch(firstEvent, metadata).asyncObservers;
+        }
+        else
+        {
+            observerMethods = sortObservers(resolveObservers(firstEvent, metadata, false), true);
+        }
+        for (ObserverMethod<? super Object> observer : observerMethods)
+        {
+            TransactionPhase phase = observer.getTransactionPhase();
+            if (phase != null && phase != TransactionPhase.IN_PROGRESS)
+            {
+                throw new WebBeansConfigurationException("Async Observer Methods can only use TransactionPhase.IN_PROGRESS!");
+            }
+        }
+        if (observerMethods.length == 0)
+        {
+            return CompletableFuture.completedFuture(events);
+        }
+
+        Executor executor = notificationOptions != null && notificationOptions.getExecutor() != null
+                ? notificationOptions.getExecutor() : getDefaultNotificationOptions().getExecutor();
+        PropagatedContexts propagatedContexts = snapshotContextsForAsyncObservers();
+
+        int threads = getParallelism(executor);
+        int partitionSize = (events.size() + threads - 1) / threads;
+        int partitions = (events.size() + partitionSize - 1) / partitionSize;
+
+        CDICompletionFuture<List<T>> future = new CDICompletionFuture<>(events, partitions);
+        for (int start = 0; start < events.size(); start += partitionSize)
+        {
+            List<T> partition = events.subList(start, Math.min(start + partitionSize, events.size()));
+            PropagatedContexts acquired = acquire(propagatedContexts);
             try
             {
-                runAsync(event, metadata, observer);
-                future.complete(null);
+                executor.execute(() -> notifyPartition(partition, metadata, observerMethods, acquired, future));
             }
-            catch (WebBeansException wbe)
+            catch (RejectedExecutionException ree)
             {
-                future.completeExceptionally(wbe.getCause());
+                release(acquired);
+                future.addResult(ree);
             }
-        }, notificationOptions.getExecutor() == null ? defaultNotificationOptions.getExecutor() : notificationOptions.getExecutor());
+        }
         return future;
     }
 
-    private void runAsync(Object event, EventMetadataImpl metadata, ObserverMethod<? super Object> observer)
+    /**
+     * The number of threads the given Executor runs tasks with.
+     * For Executors which don't tell, e.g. custom or virtual thread ones, the number of processors gets used.
+     */
+    private static int getParallelism(Executor executor)
+    {
+        if (executor instanceof ThreadPoolExecutor)
+        {
+            return ((ThreadPoolExecutor) executor).getMaximumPoolSize();
+        }
+        if (executor instanceof ForkJoinPool)
+        {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        if (executor instanceof CloseableExecutor)
+        {
+            return ForkJoinPool.getCommonPoolParallelism();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private void notifyPartition(List<?> events, EventMetadataImpl metadata, ObserverMethod<? super Object>[] observerMethods,
+                                 PropagatedContexts propagatedContexts, CDICompletionFuture<?> future)
+    {
+        try
+        {
+            runAsync(() ->
+            {
+                for (Object event : events)
+                {
+                    for (ObserverMethod<? super Object> observer : observerMethods)
+                    {
+                        try
+                        {
+                            invokeObserverMethod(event, metadata, observer);
+                        }
+                        catch (WebBeansException wbe)
+                        {
+                            future.addError(wbe.getCause() != null ? wbe.getCause() : wbe);
+                        }
+                        catch (RuntimeException re)
+                        {
+                            future.addError(re);
+                        }
+                    }
+                }
+            }, propagatedContexts);
+            future.addResult(null);
+        }
+        catch (RuntimeException re)
+        {
+            future.addResult(re);
+        }
+    }
+
+    private CompletableFuture invokeObserverMethodAsync(Object event,
+                                           EventMetadataImpl metadata,
+                                           ObserverMethod<? super Object> observer,
+                                           NotificationOptions notificationOptions,
+                                           PropagatedContexts propagatedContexts)
+    {
+        CompletableFuture<?> future = new CompletableFuture<>();
+        PropagatedContexts acquired = acquire(propagatedContexts);
+        try
+        {
+            CompletableFuture.runAsync(() -> {
+                try
+                {
+                    runAsync(() -> invokeObserverMethod(event, metadata, observer), acquired);
+                    future.complete(null);
+                }
+                catch (WebBeansException wbe)
+                {
+                    future.completeExceptionally(wbe.getCause());
+                }
+            }, notificationOptions.getExecutor() == null ? getDefaultNotificationOptions().getExecutor() : notificationOptions.getExecutor());
+        }
+        catch (RejectedExecutionException ree)
+        {
+            release(acquired);
+            throw ree;
+        }
+        return future;
+    }
+
+    /**
+     * @return the contexts to notify the async observer methods in
+     *         or {@code null} if they should get a new request context
+     */
+    private PropagatedContexts snapshotContextsForAsyncObservers()
+    {
+        getDefaultNotificationOptions();
+        if (requestContextAccessor == null)
+        {
+            return null;
+        }
+
+        Context requestContext = requestContextAccessor.getCurrentContext();
+        if (!(requestContext instanceof RequestContext) || !requestContext.isActive())
+        {
+            return null;
+        }
+        return new PropagatedContexts(((AbstractContextsService) webBeansContext.getContextsService()).snapshotContexts(),
+                (RequestContext) requestContext);
+    }
+
+    /**
+     * Must get called on the firing thread for each task which gets handed out.
+     *
+     * @return the given contexts or {@code null} if the task should get a new request context
+     */
+    private static PropagatedContexts acquire(PropagatedContexts propagatedContexts)
+    {
+        return propagatedContexts != null && propagatedContexts.requestContext.acquire() ? propagatedContexts : null;
+    }
+
+    private static void release(PropagatedContexts propagatedContexts)
     {
-        //X TODO set up threads, requestcontext etc
+        if (propagatedContexts != null)
+        {
+            propagatedContexts.requestContext.release();
+        }
+    }
+
+    /**
+     * @param propagatedContexts the {@link #acquire(PropagatedContexts) acquired} contexts of the firing thread
+     *                           or {@code null} to run the notification in a new request context
+     */
+    private void runAsync(Runnable notification, PropagatedContexts propagatedContexts)
+    {
+        if (propagatedContexts != null)
+        {
+            try (ContextsSnapshot.Activation activation = propagatedContexts.snapshot.activate())
+            {
+                notification.run();
+            }
+            finally
+            {
+                // destroys the request context if the firing thread ended it in the meantime
+                propagatedContexts.requestContext.release();
+            }
+            return;
+        }
+
         webBeansContext.getContextsService().startContext(RequestScoped.class, null);
         try
         {
-            invokeObserverMethod(event, metadata, observer);
+            notification.run();
         }
         finally
         {
@@ -888,6 +1284,69 @@ public final class NotificationManager
         return CONTAINER_EVENT_CLASSES.contains(paramType);
     }
 
+    private static final class DispatchKey
+    {
+        private final Class<?> eventClass;
+        private final Type eventType;
+        private final Set<Annotation> qualifiers;
+        private final int hashCode;
+
+        private DispatchKey(Class<?> eventClass, Type eventType, Set<Annotation> qualifiers)
+        {
+            this.eventClass = eventClass;
+            this.eventType = eventType;
+            this.qualifiers = qualifiers;
+
+            // only use the annotation types, the qualifiers of cached events have no members
+            int hash = 31 * eventClass.hashCode() + eventType.hashCode();
+            for (Annotation qualifier : qualifiers)
+            {
+                hash += qualifier.annotationType().hashCode();
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof DispatchKey))
+            {
+                return false;
+            }
+            DispatchKey other = (DispatchKey) o;
+            return hashCode == other.hashCode
+                && eventClass == other.eventClass
+                && eventType.equals(other.eventType)
+                && qualifiers.equals(other.qualifiers);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+
+    private static final class ObserverDispatch
+    {
+        private final int generation;
+        private final ObserverMethod<? super Object>[] syncObservers;
+        private final ObserverMethod<? super Object>[] asyncObservers;
+
+        private ObserverDispatch(int generation,
+                                 ObserverMethod<? super Object>[] syncObservers,
+                                 ObserverMethod<? super Object>[] asyncObservers)
+        {
+            this.generation = generation;
+            this.syncObservers = syncObservers;
+            this.asyncObservers = asyncObservers;
+        }
+    }
+
     // this behaves as a future aggregator, we don't strictly need to represent it but found it more expressive
     private static final class CDICompletionFuture<T> extends CompletableFuture<T>
     {
@@ -901,15 +1360,20 @@ public final class NotificationManager
             this.counter = new AtomicInteger(total);
         }
 
+        void addError(Throwable t)
+        {
+            if (error.get() == null)
+            {
+                error.compareAndSet(null, new CompletionException(null));
+            }
+            error.get().addSuppressed(t);
+        }
+
         CDICompletionFuture<T> addResult(Throwable t)
         {
             if (t != null)
             {
-                if (error.get() == null)
-                {
-                    error.compareAndSet(null, new CompletionException(null));
-                }
-                error.get().addSuppressed(t);
+                addError(t);
             }
             if (counter.decrementAndGet() == 0)
             {
@@ -969,4 +1433,21 @@ public final class NotificationManager
             });
         }
     }
+
+    /**
+     * The contexts of the thread which fired an async event.
+     * Each task holds an activation of the {@link RequestContext}, so ending the request
+     * on the firing thread defers the destruction of the context until all tasks are done.
+     */
+    private static final class PropagatedContexts
+    {
+        private final ContextsSnapshot snapshot;
+        private final RequestContext requestContext;
+
+        private PropagatedContexts(ContextsSnapshot snapshot, RequestContext requestContext)
+        {
+            this.snapshot = snapshot;
+            this.requestContext = requestContext;
+        }
+    }
 }
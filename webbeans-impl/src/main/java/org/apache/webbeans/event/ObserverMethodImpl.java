@@ -19,11 +19,15 @@
 package org.apache.webbeans.event;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -108,6 +112,18 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     private final Method view;
 
+    /**
+     * Direct invoker of the {@link #view} with the signature {@code (Object instance, Object[] args)void}.
+     * Gets created lazily on the first notification, see {@link #getInvoker()}.
+     */
+    private volatile MethodHandle invoker;
+
+    /**
+     * The resolved beans of the {@link #injectionPoints} in the same order.
+     * Gets created lazily on the first notification after the container got started.
+     */
+    private volatile InjectionPointBeans injectionPointBeans;
+
     /**Annotated method*/
     private AnnotatedMethod<T> annotatedObserverMethod;
     
@@ -129,6 +145,20 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         private boolean isBean;
     }
 
+    private static final class InjectionPointBeans
+    {
+        private final InjectionPoint[] injectionPoints;
+        private final Bean<Object>[] beans;
+        private final int beanSetGeneration;
+
+        private InjectionPointBeans(InjectionPoint[] injectionPoints, Bean<Object>[] beans, int beanSetGeneration)
+        {
+            this.injectionPoints = injectionPoints;
+            this.beans = beans;
+            this.beanSetGeneration = beanSetGeneration;
+        }
+    }
+
     /**
      * used if the qualifiers and event type are already known, e.g. from the XML.
      */
@@ -285,12 +315,8 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             //Static or not
             if (Modifier.isStatic(view.getModifiers()))
             {
-                if (!view.isAccessible())
-                {
-                    view.setAccessible(true);
-                }
                 //Invoke Method
-                view.invoke(null, args);
+                invokeView(null, args);
             }
             else
             {
@@ -342,11 +368,6 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
                 if (object != null)
                 {
-                    if (!view.isAccessible())
-                    {
-                        ownerBean.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(view, true);
-                    }
-
                     if (Modifier.isPrivate(view.getModifiers()))
                     {
                         // since private methods cannot be intercepted, we have to unwrap anny possible proxy
@@ -380,7 +401,7 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
             }
             
             //Destroy observer method dependent instances
-            if(methodArgsMap != null)
+            if(obargs != null)
             {
                 for(ObserverParams param : obargs)
                 {
@@ -396,7 +417,50 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     protected void invoke(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        view.invoke(object, args);
+        invokeView(object, args);
+    }
+
+    private void invokeView(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
+    {
+        MethodHandle handle = invoker;
+        if (handle == null)
+        {
+            handle = getInvoker();
+        }
+
+        try
+        {
+            handle.invokeExact(object, args);
+        }
+        catch (Throwable t)
+        {
+            // same contract as Method#invoke
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Creates a MethodHandle which directly invokes the observer method.
+     * The arguments get spread from the given array, so no reflective
+     * access checks and argument validations get performed on each notification.
+     */
+    private MethodHandle getInvoker() throws IllegalAccessException
+    {
+        if (!view.isAccessible())
+        {
+            ownerBean.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(view, true);
+        }
+
+        MethodHandle handle = MethodHandles.lookup().unreflect(view);
+        if (Modifier.isStatic(view.getModifiers()))
+        {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        handle = handle.asSpreader(Object[].class, view.getParameterTypes().length)
+                       .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+
+        invoker = handle;
+        return handle;
     }
 
     /**
@@ -406,6 +470,14 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
      */
     protected List<ObserverParams> getMethodArguments(Object event, EventMetadata metadata)
     {
+        if (injectionPoints.isEmpty())
+        {
+            // the event is the only parameter if there is nothing to inject
+            ObserverParams param = new ObserverParams();
+            param.instance = event;
+            return Collections.singletonList(param);
+        }
+
         List<ObserverParams> list = new ArrayList<>();
         if (annotatedObservesParameter.getPosition() == 0)
         {
@@ -416,10 +488,12 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         WebBeansContext webBeansContext = ownerBean.getWebBeansContext();
         BeanManagerImpl manager = webBeansContext.getBeanManagerImpl();
 
-        for (InjectionPoint injectionPoint: injectionPoints)
+        InjectionPointBeans resolved = getInjectionPointBeans(manager);
+        for (int index = 0; index < resolved.injectionPoints.length; index++)
         {
-            Bean<Object> injectedBean = (Bean<Object>)manager.getInjectionResolver().getInjectionPointBean(injectionPoint);
-            
+            InjectionPoint injectionPoint = resolved.injectionPoints[index];
+            Bean<Object> injectedBean = resolved.beans[index];
+
             CreationalContextImpl<Object> creational = manager.createCreationalContext(injectedBean);
             creational.putInjectionPoint(metadata.getInjectionPoint());
             creational.putInjectionPoint(injectionPoint);
@@ -454,6 +528,35 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         return list;
     }
 
+    /**
+     * The beans of the injection points only change if beans get added to the container.
+     * We thus resolve them only once after the container got started and re-resolve them
+     * if new beans got added later.
+     */
+    private InjectionPointBeans getInjectionPointBeans(BeanManagerImpl manager)
+    {
+        int beanSetGeneration = manager.getBeanSetGeneration();
+        InjectionPointBeans resolved = injectionPointBeans;
+        if (resolved != null && resolved.beanSetGeneration == beanSetGeneration)
+        {
+            return resolved;
+        }
+
+        InjectionPoint[] injectionPointArray = injectionPoints.toArray(new InjectionPoint[injectionPoints.size()]);
+        Bean<Object>[] beans = new Bean[injectionPointArray.length];
+        for (int i = 0; i < injectionPointArray.length; i++)
+        {
+            beans[i] = (Bean<Object>) manager.getInjectionResolver().getInjectionPointBean(injectionPointArray[i]);
+        }
+
+        resolved = new InjectionPointBeans(injectionPointArray, beans, beanSetGeneration);
+        if (manager.isAfterDeploymentValidationFired())
+        {
+            injectionPointBeans = resolved;
+        }
+        return resolved;
+    }
+
     /**
      * Returns observer owner bean.
      * 
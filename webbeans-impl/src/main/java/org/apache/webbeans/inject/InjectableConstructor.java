@@ -69,7 +69,7 @@ public class InjectableConstructor<T> extends AbstractInjectable<T>
                 getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(con, true);
             }
             
-            instance = con.newInstance(createParameters());
+            instance = getWebBeansContext().getMemberInvokers().newInstance(con, createParameters());
             transientCreationalContext.release();
             return instance;
         }
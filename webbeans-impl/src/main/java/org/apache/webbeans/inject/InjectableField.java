@@ -65,7 +65,7 @@ public class InjectableField<T> extends AbstractInjectable<T>
                 object = inject(injectedField);
             }
             
-            field.set(instance, object);
+            getWebBeansContext().getMemberInvokers().set(field, instance, object);
 
         }
         catch (IllegalAccessException e)
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.inject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.webbeans.config.WebBeansContext;
+
+/**
+ * Performs the constructor invocations, field sets and method invocations of the injection.
+ *
+ * By default this simply uses reflection. If
+ * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#USE_METHOD_HANDLES} is enabled
+ * a {@link MethodHandle} gets created once per injected member instead.
+ * The members must already be accessible when they get passed to this class.
+ *
+ * Exceptions thrown by the invoked member get wrapped in an {@link InvocationTargetException}
+ * in both modes, so callers don't need to care which mode is active. Like with reflection,
+ * arguments which don't fit the member lead to an {@link IllegalArgumentException} instead.
+ * They get checked before the {@link MethodHandle} gets invoked, as the conversions of the
+ * handle would otherwise fail with exceptions which can't be told apart from the ones of the member.
+ */
+public class MemberInvokers
+{
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /**
+     * the widening order of the numeric primitives and their wrappers, a char can get widened to an int
+     */
+    private static final Map<Class<?>, Integer> NUMERIC_RANKS = new HashMap<>();
+
+    static
+    {
+        Class<?>[][] types = {
+            { byte.class, Byte.class }, { short.class, Short.class }, { int.class, Integer.class, Character.class },
+            { long.class, Long.class }, { float.class, Float.class }, { double.class, Double.class }
+        };
+        for (int rank = 0; rank < types.length; rank++)
+        {
+            for (Class<?> type : types[rank])
+            {
+                NUMERIC_RANKS.put(type, rank);
+            }
+        }
+    }
+
+    private final WebBeansContext webBeansContext;
+
+    private final ConcurrentMap<Member, MemberHandle> methodHandles = new ConcurrentHashMap<>();
+
+    /**
+     * lazily initialised as the configuration is not yet complete when the WebBeansContext gets created
+     */
+    private volatile Boolean useMethodHandles;
+
+    public MemberInvokers(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+    }
+
+    public <T> T newInstance(Constructor<T> constructor, Object[] parameters) throws ReflectiveOperationException
+    {
+        if (!isUseMethodHandles())
+        {
+            return constructor.newInstance(parameters);
+        }
+
+        MemberHandle handle = getMethodHandle(constructor);
+        checkArguments(constructor, handle.parameterTypes, parameters);
+        try
+        {
+            return (T) (Object) handle.handle.invokeExact(parameters);
+        }
+        catch (Throwable t)
+        {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    public void set(Field field, Object instance, Object value) throws IllegalAccessException
+    {
+        if (!isUseMethodHandles())
+        {
+            field.set(instance, value);
+            return;
+        }
+
+        MemberHandle handle = getMethodHandle(field);
+        checkInstance(field, instance);
+        if (!isAssignable(handle.parameterTypes[0], value))
+        {
+            throw new IllegalArgumentException("Can not set " + field + " to " + value);
+        }
+        try
+        {
+            handle.handle.invokeExact(instance, value);
+        }
+        catch (RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable t)
+        {
+            // setting a field does not throw checked exceptions
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public Object invoke(Method method, Object instance, Object[] parameters) throws ReflectiveOperationException
+    {
+        if (!isUseMethodHandles())
+        {
+            return method.invoke(instance, parameters);
+        }
+
+        MemberHandle handle = getMethodHandle(method);
+        checkInstance(method, instance);
+        checkArguments(method, handle.parameterTypes, parameters);
+        try
+        {
+            return (Object) handle.handle.invokeExact(instance, parameters);
+        }
+        catch (Throwable t)
+        {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private boolean isUseMethodHandles()
+    {
+        Boolean use = useMethodHandles;
+        if (use == null)
+        {
+            use = webBeansContext.getOpenWebBeansConfiguration().isUseMethodHandles();
+            useMethodHandles = use;
+        }
+        return use;
+    }
+
+    private static void checkInstance(Member member, Object instance)
+    {
+        if (Modifier.isStatic(member.getModifiers()))
+        {
+            return;
+        }
+        if (instance == null)
+        {
+            throw new NullPointerException("null instance passed for " + member);
+        }
+        if (!member.getDeclaringClass().isInstance(instance))
+        {
+            throw new IllegalArgumentException("object is not an instance of declaring class " + member.getDeclaringClass().getName());
+        }
+    }
+
+    private static void checkArguments(Member member, Class<?>[] parameterTypes, Object[] parameters)
+    {
+        int count = parameters == null ? 0 : parameters.length;
+        if (count != parameterTypes.length)
+        {
+            throw new IllegalArgumentException("wrong number of arguments for " + member + ": " + count);
+        }
+        for (int i = 0; i < count; i++)
+        {
+            if (!isAssignable(parameterTypes[i], parameters[i]))
+            {
+                throw new IllegalArgumentException("argument type mismatch for parameter " + i + " of " + member);
+            }
+        }
+    }
+
+    /**
+     * Same rules as reflection: a primitive type accepts the matching wrapper and all wrappers
+     * which can get widened to it, but no null.
+     */
+    private static boolean isAssignable(Class<?> type, Object value)
+    {
+        if (!type.isPrimitive())
+        {
+            return value == null || type.isInstance(value);
+        }
+        if (value == null)
+        {
+            return false;
+        }
+        if (type == boolean.class)
+        {
+            return value instanceof Boolean;
+        }
+        if (type == char.class)
+        {
+            return value instanceof Character;
+        }
+        Integer from = NUMERIC_RANKS.get(value.getClass());
+        return from != null && from <= NUMERIC_RANKS.get(type);
+    }
+
+    private MemberHandle getMethodHandle(Member member) throws IllegalAccessException
+    {
+        MemberHandle handle = methodHandles.get(member);
+        if (handle == null)
+        {
+            handle = new MemberHandle(createMethodHandle(member), getParameterTypes(member));
+            MemberHandle existing = methodHandles.putIfAbsent(member, handle);
+            if (existing != null)
+            {
+                handle = existing;
+            }
+        }
+        return handle;
+    }
+
+    private static Class<?>[] getParameterTypes(Member member)
+    {
+        if (member instanceof Field)
+        {
+            return new Class<?>[] { ((Field) member).getType() };
+        }
+        if (member instanceof Constructor)
+        {
+            return ((Constructor<?>) member).getParameterTypes();
+        }
+        return ((Method) member).getParameterTypes();
+    }
+
+    /**
+     * All handles get adapted to a generic signature, so a single invokeExact call site serves all members.
+     */
+    private MethodHandle createMethodHandle(Member member) throws IllegalAccessException
+    {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        boolean isStatic = Modifier.isStatic(member.getModifiers());
+        if (member instanceof Constructor)
+        {
+            Constructor<?> constructor = (Constructor<?>) member;
+            return lookup.unreflectConstructor(constructor).asFixedArity()
+                    .asSpreader(Object[].class, constructor.getParameterTypes().length)
+                    .asType(CONSTRUCTOR_TYPE);
+        }
+        if (member instanceof Field)
+        {
+            MethodHandle setter = lookup.unreflectSetter((Field) member);
+            if (isStatic)
+            {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            return setter.asType(SETTER_TYPE);
+        }
+
+        Method method = (Method) member;
+        MethodHandle handle = lookup.unreflect(method).asFixedArity()
+                .asSpreader(Object[].class, method.getParameterTypes().length);
+        if (isStatic)
+        {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(METHOD_TYPE);
+    }
+
+    private static final class MemberHandle
+    {
+        private final MethodHandle handle;
+        private final Class<?>[] parameterTypes;
+
+        private MemberHandle(MethodHandle handle, Class<?>[] parameterTypes)
+        {
+            this.handle = handle;
+            this.parameterTypes = parameterTypes;
+        }
+    }
+}
@@ -44,6 +44,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.util.TypeLiteral;
 import javax.inject.Provider;
 
+import org.apache.webbeans.component.ManagedBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectionResolver;
@@ -82,6 +83,18 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
 
     private boolean strictValidation;
 
+    /**
+     * The qualifiers as array, this is what the InjectionResolver needs.
+     */
+    private Annotation[] qualifierArray;
+
+    /**
+     * Memoized result of {@link #resolveBeans()}.
+     * This only gets set once the deployment got validated and is stale as soon as the
+     * {@link BeanManagerImpl#getBeanSetGeneration()} changes.
+     */
+    private volatile ResolvedBeans resolvedBeans;
+
     /**
      * Creates new instance.
      * 
@@ -121,9 +134,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     public T get()
     {
 
-        Set<Bean<?>> beans = resolveBeans();
-
-        Bean<?> bean = webBeansContext.getBeanManagerImpl().resolve(beans);
+        Bean<?> bean = resolveBean();
 
         if (bean == null)
         {
@@ -136,6 +147,30 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     }
 
 
+    /**
+     * Returns the single resolved bean, {@code null} if there is none.
+     *
+     * @return the resolved bean
+     * @throws javax.enterprise.inject.AmbiguousResolutionException if more than 1 bean is active
+     */
+    private Bean<?> resolveBean()
+    {
+        Set<Bean<?>> beans = resolveBeans();
+
+        ResolvedBeans cached = resolvedBeans;
+        if (cached != null && cached.beans == beans && cached.bean != null)
+        {
+            return cached.bean;
+        }
+
+        Bean<?> bean = webBeansContext.getBeanManagerImpl().resolve(beans);
+        if (cached != null && cached.beans == beans)
+        {
+            cached.bean = bean;
+        }
+        return bean;
+    }
+
     /**
      * Returns set of resolved beans.
      * 
@@ -143,10 +178,23 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
      */
     private Set<Bean<?>> resolveBeans()
     {
-        Annotation[] anns = new Annotation[qualifierAnnotations.size()];
-        anns = qualifierAnnotations.toArray(anns);
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        int beanSetGeneration = beanManager.getBeanSetGeneration();
+
+        ResolvedBeans cached = resolvedBeans;
+        if (cached != null && cached.beanSetGeneration == beanSetGeneration)
+        {
+            return cached.beans;
+        }
+
+        Annotation[] anns = qualifierArray;
+        if (anns == null)
+        {
+            anns = qualifierAnnotations.toArray(new Annotation[qualifierAnnotations.size()]);
+            qualifierArray = anns;
+        }
 
-        InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+        InjectionResolver injectionResolver = beanManager.getInjectionResolver();
 
         Bean<?> injectionPointBean = injectionPoint != null ? injectionPoint.getBean() : null;
         Class<?> injectionPointClass = null;
@@ -155,7 +203,15 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
             injectionPointClass = injectionPointBean.getBeanClass();
         }
         Set<Bean<?>> beans = injectionResolver.implResolveByType(false, injectionClazz, injectionPointClass, anns);
-        return injectionResolver.resolveAll(beans);
+        Set<Bean<?>> resolved = injectionResolver.resolveAll(beans);
+
+        if (beanManager.isAfterDeploymentValidationFired())
+        {
+            // the set of beans is final now unless somebody adds a bean later on
+            resolvedBeans = new ResolvedBeans(resolved, beanSetGeneration);
+        }
+
+        return resolved;
     }
     
     /**
@@ -283,18 +339,41 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
         else
         {
-            CreationalContextImpl<?> creationalContext = creationalContexts.remove(instance);
+            CreationalContextImpl<?> creationalContext = creationalContexts == null ? null : creationalContexts.remove(instance);
             if (creationalContext == null)
             {
+                if (isTrivialInstance(instance))
+                {
+                    // never got registered as there is nothing to destroy
+                    return;
+                }
                 throw new IllegalArgumentException("instance " + instance + " not produced with this Instance<?>");
             }
             creationalContext.destroyDependent(instance);
         }
     }
 
+    private boolean isTrivialInstance(T instance)
+    {
+        for (Bean<?> bean : resolveBeans())
+        {
+            if (bean instanceof ManagedBean && ((ManagedBean<?>) bean).isTrivial() && bean.getBeanClass() == instance.getClass())
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @SuppressWarnings("unchecked")
     private T create(Bean<?> bean)
     {
+        if (bean instanceof ManagedBean && ((ManagedBean<?>) bean).isTrivial())
+        {
+            // neither needs a CreationalContext nor the InjectionPoint
+            return ((ManagedBean<T>) bean).createTrivialInstance();
+        }
+
         BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
         CreationalContextImpl<?> creationalContext = beanManager.createCreationalContext(bean);
 
@@ -371,6 +450,23 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
     }
 
+    private static final class ResolvedBeans
+    {
+        private final Set<Bean<?>> beans;
+        private final int beanSetGeneration;
+
+        /**
+         * lazily resolved single bean for {@link #get()}, {@code null} until resolved
+         */
+        private volatile Bean<?> bean;
+
+        private ResolvedBeans(Set<Bean<?>> beans, int beanSetGeneration)
+        {
+            this.beans = beans;
+            this.beanSetGeneration = beanSetGeneration;
+        }
+    }
+
     private static class InstanceInjectionPoint implements InjectionPoint, Serializable
     {
         private InjectionPoint delegate;
@@ -23,6 +23,9 @@ import org.apache.webbeans.component.SelfInterceptorBean;
 import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.portable.InjectionTargetImpl;
+import org.apache.webbeans.proxy.InterceptedMethodInvoker;
+import org.apache.webbeans.proxy.InterceptedMethodInvoker.InterceptedMethod;
+import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 import org.apache.webbeans.proxy.InterceptorHandler;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
@@ -39,9 +42,9 @@ import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.ObjectStreamException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -72,9 +75,31 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     private String beanPassivationId;
 
 
+    /**
+     * The AROUND_INVOKE interceptors of each intercepted method.
+     * Methods which only get decorated have an empty interceptor list.
+     */
     private Map<Method, List<Interceptor<?>>> interceptors;
     private Map<Interceptor<?>, ?> instances;
 
+    /**
+     * Provides the {@link #delegate} to the InvocationContexts.
+     * Shared by all invocations as the delegate never changes.
+     */
+    private Provider<T> delegateProvider;
+
+    /**
+     * Invokes the intercepted methods on the {@link #delegate} without reflection.
+     * Might be {@code null}, e.g. after deserialisation.
+     */
+    private transient InterceptedMethodInvoker methodInvoker;
+
+    /**
+     * The {@link #interceptors} together with the index of each method in the {@link #methodInvoker},
+     * so that an invocation only needs a single lookup.
+     */
+    private transient Map<Method, InterceptedMethod> interceptedMethods;
+
     /**
      * InterceptorHandler wich gets used in our InjectionTargets which
      * support interceptors and decorators
@@ -89,12 +114,30 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
                                      Map<Method, List<Interceptor<?>>> interceptors,
                                      Map<Interceptor<?>, ?> instances,
                                      String beanPassivationId)
+    {
+        this(target, delegate, interceptors, instances, beanPassivationId, null);
+    }
+
+    /**
+     * @param methodInvoker the invoker of the proxy class or {@code null}
+     */
+    public DefaultInterceptorHandler(T target,
+                                     T delegate,
+                                     Map<Method, List<Interceptor<?>>> interceptors,
+                                     Map<Interceptor<?>, ?> instances,
+                                     String beanPassivationId,
+                                     InterceptedMethodInvoker methodInvoker)
     {
         this.target = target;
         this.delegate = delegate;
         this.instances = instances;
         this.interceptors = interceptors;
         this.beanPassivationId = beanPassivationId;
+        this.delegateProvider = new InstanceProvider<>(delegate);
+        this.methodInvoker = methodInvoker;
+        this.interceptedMethods = methodInvoker != null
+            ? methodInvoker.getInterceptedMethods(interceptors)
+            : InterceptedMethodInvoker.resolveInterceptedMethods(null, interceptors);
     }
 
     public DefaultInterceptorHandler()
@@ -127,14 +170,27 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
     {
         try
         {
-            List<Interceptor<?>> methodInterceptors = interceptors.get(method);
-            if (methodInterceptors == null)
+            InterceptedMethod interceptedMethod = interceptedMethods.get(method);
+            if (interceptedMethod == null)
             {
-                methodInterceptors = Collections.emptyList();
+                return invokeDelegate(method, parameters);
+            }
+
+            int methodIndex = interceptedMethod.getMethodIndex();
+            List<Interceptor<?>> methodInterceptors = interceptedMethod.getInterceptors();
+            if (methodInterceptors.isEmpty())
+            {
+                // e.g. a method which only gets decorated, there is no need for an InvocationContext
+                if (methodIndex >= 0)
+                {
+                    return methodInvoker.invoke(methodIndex, delegate, parameters);
+                }
+                return invokeDelegate(method, parameters);
             }
 
             InterceptorInvocationContext<T> ctx
-                = new InterceptorInvocationContext<T>(new InstanceProvider(delegate), InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters);
+                = new InterceptorInvocationContext<>(delegateProvider, InterceptionType.AROUND_INVOKE, methodInterceptors, instances, method, parameters,
+                                                     methodInvoker, methodIndex);
 
             return ctx.proceed();
         }
@@ -144,6 +200,24 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         }
     }
 
+    private Object invokeDelegate(Method method, Object[] parameters) throws IllegalAccessException
+    {
+        if (!method.isAccessible())
+        {
+            method.setAccessible(true);
+        }
+
+        try
+        {
+            return method.invoke(delegate, parameters);
+        }
+        catch (InvocationTargetException ite)
+        {
+            // unpack the reflection Exception
+            throw ExceptionUtil.throwAsRuntimeException(ite.getCause());
+        }
+    }
+
     /**
      * The following code gets generated into the proxy:
      *
@@ -165,11 +239,15 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
         Bean<T> bean = (Bean<T>) beanManager.getPassivationCapableBean(beanPassivationId);
 
-        return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(
-            webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean),
-            target,
-            this
-        );
+        InterceptorDecoratorProxyFactory proxyFactory = webBeansContext.getInterceptorDecoratorProxyFactory();
+        Class<T> proxyClass = proxyFactory.getCachedProxyClass(bean);
+        methodInvoker = proxyFactory.getMethodInvoker(proxyClass);
+        if (methodInvoker != null)
+        {
+            interceptedMethods = InterceptedMethodInvoker.resolveInterceptedMethods(methodInvoker, interceptors);
+        }
+
+        return proxyFactory.createProxyInstance(proxyClass, target, this);
     }
 
     @Override
@@ -225,6 +303,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         {
             delegate = (T) in.readObject();
         }
+        delegateProvider = new InstanceProvider<>(delegate);
 
         int instancesSize = in.readInt();
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
@@ -272,6 +351,8 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
             interceptors.put(method, interceptorList);
         }
 
+        interceptedMethods = InterceptedMethodInvoker.resolveInterceptedMethods(null, interceptors);
+
         beanPassivationId = in.readUTF();
     }
 
@@ -768,21 +768,22 @@ public class InterceptorResolutionService
             Method interceptedMethod = miEntry.getKey();
             BusinessMethodInterceptorInfo mii = miEntry.getValue();
             List<Interceptor<?>> activeInterceptors = new ArrayList<>();
+            boolean intercepted = false;
 
             if (mii.getEjbInterceptors() != null)
             {
-                Collections.addAll(activeInterceptors, mii.getEjbInterceptors());
+                intercepted |= addAroundInvokeInterceptors(activeInterceptors, mii.getEjbInterceptors());
             }
             if (mii.getCdiInterceptors() != null)
             {
-                Collections.addAll(activeInterceptors, mii.getCdiInterceptors());
+                intercepted |= addAroundInvokeInterceptors(activeInterceptors, mii.getCdiInterceptors());
             }
             if (interceptorInfo.getSelfInterceptorBean() != null)
             {
                 if (interceptedMethod.getAnnotation(AroundInvoke.class) == null) // this check is a dirty hack for now to prevent infinite loops
                 {
                     // add self-interception as last interceptor in the chain.
-                    activeInterceptors.add(interceptorInfo.getSelfInterceptorBean());
+                    intercepted |= addAroundInvokeInterceptors(activeInterceptors, interceptorInfo.getSelfInterceptorBean());
                 }
             }
 
@@ -790,7 +791,7 @@ public class InterceptorResolutionService
             {
                 methodInterceptors.put(interceptedMethod, activeInterceptors);
             }
-            else if (mii.getMethodDecorators() != null)
+            else if (intercepted || mii.getMethodDecorators() != null)
             {
                 methodInterceptors.put(interceptedMethod, Collections.EMPTY_LIST);
             }
@@ -798,6 +799,24 @@ public class InterceptorResolutionService
         return methodInterceptors;
     }
 
+    /**
+     * The method interceptor chains only get used for AROUND_INVOKE.
+     * Filtering them once avoids skipping e.g. pure lifecycle interceptors on each invocation.
+     *
+     * @return whether there have been any interceptors at all
+     */
+    private boolean addAroundInvokeInterceptors(List<Interceptor<?>> activeInterceptors, Interceptor<?>... interceptors)
+    {
+        for (Interceptor<?> interceptor : interceptors)
+        {
+            if (interceptor.intercepts(InterceptionType.AROUND_INVOKE))
+            {
+                activeInterceptors.add(interceptor);
+            }
+        }
+        return interceptors.length > 0;
+    }
+
     public <T> Map<Interceptor<?>, Object> createInterceptorInstances(BeanInterceptorInfo interceptorInfo,
                                                                       CreationalContextImpl<T> creationalContextImpl)
     {
@@ -858,7 +877,8 @@ public class InterceptorResolutionService
                         new DecoratorHandler(interceptorInfo, decorators, instances, i - 1, instance, passivationId));
             }
         }
-        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId);
+        InterceptorHandler interceptorHandler = new DefaultInterceptorHandler<>(instance, delegate, methodInterceptors, interceptorInstances, passivationId,
+                webBeansContext.getInterceptorDecoratorProxyFactory().getMethodInvoker(proxyClass));
 
         return webBeansContext.getInterceptorDecoratorProxyFactory().createProxyInstance(proxyClass, instance, interceptorHandler);
     }
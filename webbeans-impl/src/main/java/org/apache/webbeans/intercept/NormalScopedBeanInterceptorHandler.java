@@ -30,6 +30,10 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.AbstractContextsService;
+import org.apache.webbeans.context.ContextAccessor;
+import org.apache.webbeans.spi.ContextsService;
 
 /**
  * <p>A Provider which handles all NormalScoped proxying.
@@ -55,6 +59,14 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
      */
     private String beanPassivationId;
 
+    /**
+     * Direct access to the current Context of the bean's scope.
+     * Gets looked up lazily on the first invocation and is {@code null}
+     * if the ContextsService doesn't provide one for this scope.
+     */
+    private transient ContextAccessor contextAccessor;
+    private transient boolean contextAccessorResolved;
+
     public NormalScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         this.beanManager = beanManager;
@@ -83,10 +95,12 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
 
     protected Object getContextualInstance()
     {
-        Object webbeansInstance;
+        return getContextualInstance(getContext());
+    }
 
-        //Context of the bean
-        Context webbeansContext = beanManager.getContext(bean.getScope());
+    protected Object getContextualInstance(Context webbeansContext)
+    {
+        Object webbeansInstance;
 
         //Already saved in context?
         webbeansInstance = webbeansContext.get(bean);
@@ -107,6 +121,43 @@ public class NormalScopedBeanInterceptorHandler implements Provider, Serializabl
         return webbeansInstance;
     }
 
+    /**
+     * @return the active Context of the bean's scope
+     */
+    protected Context getContext()
+    {
+        if (!contextAccessorResolved)
+        {
+            contextAccessor = resolveContextAccessor();
+            contextAccessorResolved = true;
+        }
+
+        if (contextAccessor != null)
+        {
+            Context context = contextAccessor.getCurrentContext();
+            if (context != null && context.isActive())
+            {
+                return context;
+            }
+        }
+
+        // not yet started, not active or a custom scope: let the BeanManager sort it out
+        return beanManager.getContext(bean.getScope());
+    }
+
+    private ContextAccessor resolveContextAccessor()
+    {
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            ContextsService contextsService = ((BeanManagerImpl) beanManager).getWebBeansContext().getContextsService();
+            if (contextsService instanceof AbstractContextsService)
+            {
+                return ((AbstractContextsService) contextsService).getContextAccessor(bean.getScope());
+            }
+        }
+        return null;
+    }
+
     /**
      * The following code gets generated into the proxy:
      *
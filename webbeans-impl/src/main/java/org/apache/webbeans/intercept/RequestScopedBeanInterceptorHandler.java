@@ -20,34 +20,21 @@ package org.apache.webbeans.intercept;
 
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
 
 
 /**
  * <p>This is a {@link javax.inject.Provider} especially
  * made for &#064;RequestScoped beans used in web applications.</p>
  * 
- * <p>Since there is only one single contextual instance of an &#064;RequestScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * <p>The contextual instance gets looked up on each invocation. The current RequestContext
+ * gets accessed directly and finds the instance by the slot of the bean, so caching the instance
+ * in the handler doesn't pay off: the handler is shared between all threads.</p>
  */
 public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
 {
     /**default serial id*/
     private static final long serialVersionUID = 1L;
 
-    /**
-     * Cached bean instance for each thread
-     */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
-
-
-    public static void removeThreadLocals()
-    {
-        cachedInstances.set(null);
-        cachedInstances.remove();
-    }
-
     /**
      * Creates a new handler.
      */
@@ -55,29 +42,16 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     {
         super(beanManager, bean);
     }
-    
+
     /**
-     * {@inheritDoc}
+     * The instances don't get cached in ThreadLocals anymore, there is nothing to clean up.
+     * Only kept for integrations which still call it.
+     * @deprecated not needed anymore
      */
-    @Override
-    protected Object getContextualInstance()
+    @Deprecated
+    public static void removeThreadLocals()
     {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
-        {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
-        }
-
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
-        {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
-        }
-
-        return cachedInstance;
+        // no-op
     }
 
 }
@@ -20,6 +20,7 @@ package org.apache.webbeans.portable;
 
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansCreationException;
 import org.apache.webbeans.exception.WebBeansException;
@@ -64,6 +65,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -292,6 +294,99 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         }
     }
 
+    /**
+     * An InjectionTarget is trivial if its instances only need the constructor and field injection
+     * of normal-scoped contextual references. Such instances never hold any dependent object
+     * and have nothing to do on destruction, thus they don't need a CreationalContext.
+     * Must only get called once the deployment got validated.
+     *
+     * @return {@code true} if the instances can get created via a {@link TrivialInstantiator}
+     */
+    public boolean isTrivial()
+    {
+        if (getClass() != InjectionTargetImpl.class || methodInterceptors == null || needsProxy() || hasInterceptorInfo() || hasAroundConstruct()
+            || (postConstructMethods != null && !postConstructMethods.isEmpty())
+            || (preDestroyMethods != null && !preDestroyMethods.isEmpty()))
+        {
+            return false;
+        }
+
+        try
+        {
+            if (webBeansContext.getService(ResourceInjectionService.class) != null)
+            {
+                // we cannot know which resources it would inject
+                return false;
+            }
+        }
+        catch (Exception e)
+        {
+            // When running in tests
+        }
+
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            Member member = injectionPoint.getMember();
+            if (member instanceof Method)
+            {
+                if (isProducerMethod(injectionPoint) || isDisposalMethod(injectionPoint) || isObserverMethod(injectionPoint))
+                {
+                    // not injected into the instance
+                    continue;
+                }
+                return false;
+            }
+            if (injectionPoint.isDelegate() || Modifier.isStatic(member.getModifiers()))
+            {
+                return false;
+            }
+            Bean<?> injectedBean = beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+            if (injectedBean == null || !beanManager.isNormalScope(injectedBean.getScope()))
+            {
+                return false;
+            }
+        }
+
+        for (AnnotatedMethod<? super T> method : webBeansContext.getAnnotatedElementFactory().getFilteredAnnotatedMethods(annotatedType))
+        {
+            if (method.isAnnotationPresent(Inject.class) && method.getParameters().isEmpty())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the normal-scoped contextual references of all injection points once.
+     * Must only get called for a {@link #isTrivial() trivial} InjectionTarget.
+     */
+    public TrivialInstantiator<T> createTrivialInstantiator()
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        CreationalContextImpl<T> creationalContext = beanManager.createCreationalContext(null);
+
+        Constructor<T> cons = getConstructor().getJavaMember();
+        Object[] parameters = new Object[cons.getParameterTypes().length];
+        List<Field> fields = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            if (injectionPoint.getMember() instanceof Constructor)
+            {
+                int position = ((AnnotatedParameter<?>) injectionPoint.getAnnotated()).getPosition();
+                parameters[position] = beanManager.getInjectableReference(injectionPoint, creationalContext);
+            }
+            else if (injectionPoint.getMember() instanceof Field)
+            {
+                fields.add((Field) injectionPoint.getMember());
+                values.add(beanManager.getInjectableReference(injectionPoint, creationalContext));
+            }
+        }
+        return new TrivialInstantiator<>(webBeansContext.getSecurityService(), cons, parameters, fields, values);
+    }
+
     @Override
     public void postConstruct(T instance)
     {
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.portable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.List;
+
+import javax.enterprise.inject.CreationException;
+
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.spi.SecurityService;
+
+/**
+ * Creates the instances of a trivial &#064;Dependent bean,
+ * see {@link InjectionTargetImpl#isTrivial()}.
+ *
+ * All injected references are normal-scoped contextual references which got resolved once.
+ * They are bound to the {@link MethodHandle}s of the constructor and the injected fields,
+ * so creating an instance neither needs any resolution nor any CreationalContext.
+ */
+public final class TrivialInstantiator<T>
+{
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType FIELD_INJECTOR_TYPE = MethodType.methodType(void.class, Object.class);
+
+    /**
+     * The bean constructor with all parameters bound, {@code ()Object}
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * The setter of each injected field with the value bound, {@code (Object)void}
+     */
+    private final MethodHandle[] fieldInjectors;
+
+    TrivialInstantiator(SecurityService securityService, Constructor<T> constructor, Object[] parameters,
+                        List<Field> fields, List<Object> values)
+    {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try
+        {
+            if (!constructor.isAccessible())
+            {
+                securityService.doPrivilegedSetAccessible(constructor, true);
+            }
+            this.constructor = MethodHandles.insertArguments(lookup.unreflectConstructor(constructor), 0, parameters)
+                    .asType(CONSTRUCTOR_TYPE);
+
+            fieldInjectors = new MethodHandle[fields.size()];
+            for (int i = 0; i < fieldInjectors.length; i++)
+            {
+                Field field = fields.get(i);
+                if (!field.isAccessible())
+                {
+                    securityService.doPrivilegedSetAccessible(field, true);
+                }
+                fieldInjectors[i] = MethodHandles.insertArguments(lookup.unreflectSetter(field), 1, values.get(i))
+                        .asType(FIELD_INJECTOR_TYPE);
+            }
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new WebBeansException(e);
+        }
+    }
+
+    public T newInstance()
+    {
+        try
+        {
+            Object instance = (Object) constructor.invokeExact();
+            for (MethodHandle fieldInjector : fieldInjectors)
+            {
+                fieldInjector.invokeExact(instance);
+            }
+            return (T) instance;
+        }
+        catch (RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable t)
+        {
+            throw new CreationException(t);
+        }
+    }
+}
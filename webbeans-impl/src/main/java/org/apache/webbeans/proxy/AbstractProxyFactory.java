@@ -28,12 +28,17 @@ import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.spi.DefiningClassService;
 import org.apache.xbean.asm5.ClassWriter;
 import org.apache.xbean.asm5.MethodVisitor;
 import org.apache.xbean.asm5.Opcodes;
@@ -70,6 +75,23 @@ public abstract class AbstractProxyFactory
 
     private final int javaVersion;
 
+    /**
+     * The proxy class names handed out by {@link #getUnusedProxyClassName(ClassLoader, String)}.
+     * Proxy classes get generated concurrently, so a name must not get handed out twice
+     * even if the first class with this name didn't get defined yet.
+     * The ClassLoader is only part of the key via its identity hash code,
+     * a collision merely causes a higher name suffix.
+     */
+    private final Set<String> reservedProxyClassNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    /**
+     * The configured {@link DefiningClassService} or {@code null} if we define the proxy classes ourselves.
+     */
+    private final DefiningClassService definingClassService;
+
+    private final AtomicLong generatedProxyClassCount = new AtomicLong();
+    private final AtomicLong generatedProxyClassBytes = new AtomicLong();
+
 
     /**
      * The name of the field which stores the passivationID of the Bean this proxy serves.
@@ -83,6 +105,7 @@ public abstract class AbstractProxyFactory
     {
         this.webBeansContext = webBeansContext;
         javaVersion = determineJavaVersion();
+        definingClassService = webBeansContext.getService(DefiningClassService.class);
         initializeUnsafe();
     }
 
@@ -121,6 +144,14 @@ public abstract class AbstractProxyFactory
      */
     protected abstract Class getMarkerInterface();
 
+    /**
+     * @return all interfaces the proxy class should implement, by default just the {@link #getMarkerInterface()}.
+     */
+    protected Class<?>[] getProxyInterfaces()
+    {
+        return new Class<?>[] { getMarkerInterface() };
+    }
+
     /**
      * generate the bytecode for creating the instance variables of the class
      */
@@ -156,7 +187,8 @@ public abstract class AbstractProxyFactory
             throws ProxyGenerationException;
 
     /**
-     * Detect a free classname based on the given one
+     * Detect a free classname based on the given one.
+     * The returned name gets reserved, so concurrent callers never get the same name.
      * @param proxyClassName
      * @return
      */
@@ -165,6 +197,7 @@ public abstract class AbstractProxyFactory
         proxyClassName = fixPreservedPackages(proxyClassName);
 
         String finalName = proxyClassName;
+        String loaderKey = System.identityHashCode(classLoader) + ":";
 
         for (int i = 0; i < MAX_CLASSLOAD_TRIES; i++)
         {
@@ -175,8 +208,12 @@ public abstract class AbstractProxyFactory
             }
             catch (ClassNotFoundException cnfe)
             {
-                // this is exactly what we need!
-                return finalName;
+                if (reservedProxyClassNames.add(loaderKey + finalName))
+                {
+                    // this is exactly what we need!
+                    return finalName;
+                }
+                // another thread is about to define a class with this name
             }
             // otherwise we continue ;)
         }
@@ -228,18 +265,53 @@ public abstract class AbstractProxyFactory
                                                       Method[] interceptedMethods, Method[] nonInterceptedMethods,
                                                       Constructor<T> constructor)
             throws ProxyGenerationException
+    {
+        byte[] proxyBytes = generateProxyBytes(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods, constructor);
+
+        Class<T> proxyClass = defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        generatedProxyClassCount.incrementAndGet();
+        generatedProxyClassBytes.addAndGet(proxyBytes.length);
+        return proxyClass;
+    }
+
+    /**
+     * @return the number of proxy classes this factory generated and defined at runtime
+     */
+    public long getGeneratedProxyClassCount()
+    {
+        return generatedProxyClassCount.get();
+    }
+
+    /**
+     * The size of the bytecode of all proxy classes this factory defined at runtime.
+     * This is a lower bound of the metaspace those classes occupy.
+     * @return the number of bytes
+     */
+    public long getGeneratedProxyClassBytes()
+    {
+        return generatedProxyClassBytes.get();
+    }
+
+    /**
+     * Generates the bytecode of a proxy class without defining it.
+     * The parameters are the same as for
+     * {@link #createProxyClass(ClassLoader, String, Class, Method[], Method[], Constructor)}.
+     * @return the bytecode of the proxy class
+     */
+    protected byte[] generateProxyBytes(ClassLoader classLoader, String proxyClassName, Class<?> classToProxy,
+                                        Method[] interceptedMethods, Method[] nonInterceptedMethods,
+                                        Constructor<?> constructor)
+            throws ProxyGenerationException
     {
         String proxyClassFileName = proxyClassName.replace('.', '/');
 
-        byte[] proxyBytes = generateProxy(classLoader,
+        return generateProxy(classLoader,
                 classToProxy,
                 proxyClassName,
                 proxyClassFileName,
                 sortOutDuplicateMethods(interceptedMethods),
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
-
-        return defineAndLoadClass(classLoader, proxyClassName, proxyBytes);
     }
 
     private Method[] sortOutDuplicateMethods(Method[] methods)
@@ -283,12 +355,18 @@ public abstract class AbstractProxyFactory
         ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
         String classFileName = classToProxy.getName().replace('.', '/');
 
-        String[] interfaceNames = {Type.getInternalName(getMarkerInterface())};
+        Class<?>[] proxyInterfaces = getProxyInterfaces();
+        int interfaceOffset = classToProxy.isInterface() ? 1 : 0;
+        String[] interfaceNames = new String[proxyInterfaces.length + interfaceOffset];
+        for (int i = 0; i < proxyInterfaces.length; i++)
+        {
+            interfaceNames[i + interfaceOffset] = Type.getInternalName(proxyInterfaces[i]);
+        }
         String superClassName = classFileName;
 
         if (classToProxy.isInterface())
         {
-            interfaceNames = new String[]{Type.getInternalName(classToProxy), interfaceNames[0]};
+            interfaceNames[0] = Type.getInternalName(classToProxy);
             superClassName = Type.getInternalName(Object.class);
         }
 
@@ -322,12 +400,23 @@ public abstract class AbstractProxyFactory
 
 
     /**
+     * Defines the proxy class via the configured {@link DefiningClassService}.
+     * If there is none or it cannot define the class we do it ourselves.
      * The 'defineClass' method on the ClassLoader is protected, thus we need to invoke it via reflection.
      * @return the Class which got loaded in the classloader
      */
-    private <T> Class<T> defineAndLoadClass(ClassLoader classLoader, String proxyName, byte[] proxyBytes)
+    private <T> Class<T> defineAndLoadClass(ClassLoader classLoader, String proxyName, byte[] proxyBytes, Class<?> classToProxy)
             throws ProxyGenerationException
     {
+        if (definingClassService != null)
+        {
+            Class<T> definedClass = definingClassService.defineAndLoad(classLoader, proxyName, proxyBytes, classToProxy);
+            if (definedClass != null)
+            {
+                return definedClass;
+            }
+        }
+
         Class<?> clazz = classLoader.getClass();
 
         Method defineClassMethod = null;
@@ -365,10 +454,15 @@ public abstract class AbstractProxyFactory
             {
                 definedClass = (Class<T>) defineClassMethod.invoke(classLoader, proxyName, proxyBytes, 0, proxyBytes.length);
             }
-            else
+            else if (unsafeDefineClass != null)
             {
                 definedClass = (Class<T>) unsafeDefineClass.invoke(unsafe, proxyName, proxyBytes, 0, proxyBytes.length, classLoader, null);
             }
+            else
+            {
+                throw new ProxyGenerationException("Cannot define the proxy class " + proxyName
+                        + ", ClassLoader#defineClass is not accessible. Configure a " + DefiningClassService.class.getName());
+            }
 
             return (Class<T>) Class.forName(definedClass.getName(), true, classLoader);
         }
@@ -387,6 +481,10 @@ public abstract class AbstractProxyFactory
             }
             throw new ProxyGenerationException(le.getCause());
         }
+        catch (ProxyGenerationException e)
+        {
+            throw e;
+        }
         catch (Throwable e)
         {
             throw new ProxyGenerationException(e);
@@ -773,7 +871,10 @@ public abstract class AbstractProxyFactory
                     }
                     catch (Exception e)
                     {
-                        throw new IllegalStateException("Cannot get Unsafe.defineClass", e);
+                        // removed in Java 11, the classes then must get defined via the ClassLoader
+                        // or a DefiningClassService
+                        logger.fine("Cannot get Unsafe.defineClass: " + e);
+                        return null;
                     }
                 }
             });
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+/**
+ * Gets implemented by all Interceptor+Decorator Proxies.
+ * It allows to invoke the intercepted methods on the target instance
+ * at the end of an interceptor chain without using reflection.
+ *
+ * @see InterceptorDecoratorProxyFactory#getMethodInvoker(Class)
+ */
+public interface InterceptedMethodDispatcher
+{
+    /**
+     * Invokes the intercepted method with the given index on the given target.
+     * The method name is chosen to not clash with any method of the proxied class.
+     *
+     * @param methodIndex the index of the method in the intercepted methods of the proxy class
+     * @param target the instance to invoke the method on
+     * @param args the method parameters
+     * @return the return value of the method, {@code null} for void methods
+     */
+    Object owbIntDecDispatch(int methodIndex, Object target, Object[] args) throws Exception;
+}
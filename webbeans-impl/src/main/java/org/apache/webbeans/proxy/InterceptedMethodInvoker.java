@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.Interceptor;
+
+/**
+ * Invokes the intercepted methods of a single proxy class
+ * via the generated {@link InterceptedMethodDispatcher}.
+ */
+public final class InterceptedMethodInvoker
+{
+    private final InterceptedMethodDispatcher dispatcher;
+
+    /**
+     * The index of each intercepted method which can get invoked directly.
+     */
+    private final Map<Method, Integer> methodIndexes;
+
+    /**
+     * The InterceptedMethods resolved for the last interceptor map.
+     * All instances of a bean share the same interceptor map, so this mostly never changes.
+     */
+    private volatile ResolvedMethods resolvedMethods;
+
+    InterceptedMethodInvoker(InterceptedMethodDispatcher dispatcher, Map<Method, Integer> methodIndexes)
+    {
+        this.dispatcher = dispatcher;
+        this.methodIndexes = methodIndexes;
+    }
+
+    /**
+     * @return the index to use for {@link #invoke(int, Object, Object[])}
+     *         or {@code -1} if the method must get invoked via reflection
+     */
+    public int getMethodIndex(Method method)
+    {
+        Integer index = methodIndexes.get(method);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @return the interceptors and the method index of each intercepted method, resolved once per interceptor map
+     */
+    public Map<Method, InterceptedMethod> getInterceptedMethods(Map<Method, List<Interceptor<?>>> interceptors)
+    {
+        ResolvedMethods resolved = resolvedMethods;
+        if (resolved == null || resolved.interceptors != interceptors)
+        {
+            resolved = new ResolvedMethods(interceptors, resolveInterceptedMethods(this, interceptors));
+            resolvedMethods = resolved;
+        }
+        return resolved.methods;
+    }
+
+    /**
+     * @param invoker the invoker of the proxy class or {@code null} if all methods must get invoked via reflection
+     */
+    public static Map<Method, InterceptedMethod> resolveInterceptedMethods(InterceptedMethodInvoker invoker,
+                                                                           Map<Method, List<Interceptor<?>>> interceptors)
+    {
+        Map<Method, InterceptedMethod> methods = new HashMap<>(interceptors.size() * 4 / 3 + 1);
+        for (Map.Entry<Method, List<Interceptor<?>>> entry : interceptors.entrySet())
+        {
+            int methodIndex = invoker != null ? invoker.getMethodIndex(entry.getKey()) : -1;
+            methods.put(entry.getKey(), new InterceptedMethod(entry.getValue(), methodIndex));
+        }
+        return methods;
+    }
+
+    public Object invoke(int methodIndex, Object target, Object[] args) throws Exception
+    {
+        return dispatcher.owbIntDecDispatch(methodIndex, target, args);
+    }
+
+    /**
+     * The AROUND_INVOKE interceptors of an intercepted method together with its index in the {@link InterceptedMethodInvoker}.
+     */
+    public static final class InterceptedMethod
+    {
+        private final List<Interceptor<?>> interceptors;
+        private final int methodIndex;
+
+        private InterceptedMethod(List<Interceptor<?>> interceptors, int methodIndex)
+        {
+            this.interceptors = interceptors;
+            this.methodIndex = methodIndex;
+        }
+
+        public List<Interceptor<?>> getInterceptors()
+        {
+            return interceptors;
+        }
+
+        /**
+         * @return the index of the method in the {@link InterceptedMethodInvoker} or {@code -1} if it must get invoked via reflection
+         */
+        public int getMethodIndex()
+        {
+            return methodIndex;
+        }
+    }
+
+    private static final class ResolvedMethods
+    {
+        private final Map<Method, List<Interceptor<?>>> interceptors;
+        private final Map<Method, InterceptedMethod> methods;
+
+        private ResolvedMethods(Map<Method, List<Interceptor<?>>> interceptors, Map<Method, InterceptedMethod> methods)
+        {
+            this.interceptors = interceptors;
+            this.methods = methods;
+        }
+    }
+}
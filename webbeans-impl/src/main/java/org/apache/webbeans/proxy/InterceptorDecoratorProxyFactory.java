@@ -39,7 +39,10 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
@@ -74,6 +77,11 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
     private ConcurrentMap<AnnotatedType<?>, Class<?>> cachedProxyClassesByAt = new ConcurrentHashMap<>();
 
+    /**
+     * The direct invokers of the intercepted methods for each proxy class.
+     */
+    private ConcurrentMap<Class<?>, InterceptedMethodInvoker> methodInvokers = new ConcurrentHashMap<>();
+
 
     public InterceptorDecoratorProxyFactory(WebBeansContext webBeansContext)
     {
@@ -181,7 +189,7 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
      * @param <T>
      * @return the proxy class
      */
-    public synchronized <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy,
+    public <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy,
                                                       Method[] interceptedMethods, Method[] nonInterceptedMethods)
             throws ProxyGenerationException
     {
@@ -190,7 +198,7 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         return proxyClass;
     }
 
-    public synchronized <T> Class<T> createProxyClass(InterceptorResolutionService.BeanInterceptorInfo interceptorInfo,
+    public <T> Class<T> createProxyClass(InterceptorResolutionService.BeanInterceptorInfo interceptorInfo,
                                                       AnnotatedType<T> at, ClassLoader classLoader)
             throws ProxyGenerationException
     {
@@ -200,8 +208,10 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         Class<T> proxyClass = createProxyClass(
                 classLoader, at.getJavaClass(),
                 intercepted.toArray(new Method[intercepted.size()]), others.toArray(new Method[others.size()]));
-        cachedProxyClassesByAt.put(at, proxyClass);
-        return proxyClass;
+
+        // another thread might have created a proxy class for the same AnnotatedType meanwhile
+        Class<T> existing = (Class<T>) cachedProxyClassesByAt.putIfAbsent(at, proxyClass);
+        return existing != null ? existing : proxyClass;
     }
 
     private <T> Class<T> createProxyClass(ClassLoader classLoader, Class<T> classToProxy,
@@ -224,9 +234,71 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
             throw new ProxyGenerationException(e);
         }
 
+        registerMethodInvoker(clazz, classLoader, classToProxy, interceptedMethods);
+
         return clazz;
     }
 
+    private void registerMethodInvoker(Class<?> proxyClass, ClassLoader classLoader, Class<?> classToProxy, Method[] interceptedMethods)
+    {
+        if (interceptedMethods == null || interceptedMethods.length == 0)
+        {
+            return;
+        }
+
+        Map<Method, Integer> methodIndexes = new HashMap<>();
+        for (int i = 0; i < interceptedMethods.length; i++)
+        {
+            for (int j = 0; j < i; j++)
+            {
+                if (interceptedMethods[j].getName().equals(interceptedMethods[i].getName())
+                    && Arrays.equals(interceptedMethods[j].getParameterTypes(), interceptedMethods[i].getParameterTypes()))
+                {
+                    // methods with the same signature got sorted out when generating the proxy,
+                    // so the method indexes of the proxy class do not match the array anymore
+                    return;
+                }
+            }
+            if (isDirectlyInvokable(classLoader, classToProxy, interceptedMethods[i]))
+            {
+                methodIndexes.put(interceptedMethods[i], i);
+            }
+        }
+
+        methodInvokers.put(proxyClass, new InterceptedMethodInvoker((InterceptedMethodDispatcher) unsafeNewInstance(proxyClass), methodIndexes));
+    }
+
+    /**
+     * @return the direct invoker for the intercepted methods of the given proxy class
+     *         or {@code null} if the methods must get invoked via reflection.
+     */
+    public InterceptedMethodInvoker getMethodInvoker(Class<?> proxyClass)
+    {
+        return methodInvokers.get(proxyClass);
+    }
+
+    /**
+     * The generated dispatcher invokes the method on a target of the proxied type and not on the proxy itself.
+     * Protected and package scoped methods can thus only be invoked if they are in the same runtime package.
+     */
+    private boolean isDirectlyInvokable(ClassLoader classLoader, Class<?> classToProxy, Method method)
+    {
+        int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers))
+        {
+            return false;
+        }
+        if (Modifier.isPublic(modifiers))
+        {
+            return true;
+        }
+
+        Class<?> declaringClass = method.getDeclaringClass();
+        return declaringClass.getClassLoader() == classLoader
+            && declaringClass.getPackage() != null && classToProxy.getPackage() != null
+            && declaringClass.getPackage().getName().equals(classToProxy.getPackage().getName());
+    }
+
     public <T> Class<T> getCachedProxyClass(InterceptorResolutionService.BeanInterceptorInfo interceptorInfo,
                                             AnnotatedType<T> at, ClassLoader classLoader)
     {
@@ -249,6 +321,12 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
         return OwbInterceptorProxy.class;
     }
 
+    @Override
+    protected Class<?>[] getProxyInterfaces()
+    {
+        return new Class<?>[] { OwbInterceptorProxy.class, InterceptedMethodDispatcher.class };
+    }
+
     @Override
     protected void createInstanceVariables(ClassWriter cw, Class<?> classToProxy, String classFileName)
     {
@@ -411,6 +489,114 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
             Method proxiedMethod = interceptedMethods[i];
             generateInterceptorHandledMethod(cw, proxiedMethod, i, classToProxy, proxyClassFileName);
         }
+
+        generateMethodDispatcher(classLoader, cw, classToProxy, interceptedMethods);
+    }
+
+    /**
+     * Generates the {@link InterceptedMethodDispatcher} method which gets used at the end of the interceptor chain.
+     * The following code gets generated:
+     *
+     * <pre>
+     * public Object owbIntDecDispatch(int methodIndex, Object target, Object[] args) throws Exception
+     * {
+     *     switch (methodIndex)
+     *     {
+     *         case 0: return ((ClassToProxy) target).method0((String) args[0], ((Integer) args[1]).intValue());
+     *         case 1: ((ClassToProxy) target).method1(); return null;
+     *         ...
+     *         default: throw new IllegalArgumentException();
+     *     }
+     * }
+     * </pre>
+     *
+     * A {@code null} argument for a primitive parameter results in an IllegalArgumentException like in Method#invoke.
+     */
+    private void generateMethodDispatcher(ClassLoader classLoader, ClassWriter cw, Class<?> classToProxy, Method[] interceptedMethods)
+    {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "owbIntDecDispatch",
+                "(ILjava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;", null, new String[]{"java/lang/Exception"});
+        mv.visitCode();
+
+        Label defaultLabel = new Label();
+        Label[] labels = new Label[interceptedMethods.length];
+        for (int i = 0; i < interceptedMethods.length; i++)
+        {
+            labels[i] = isDirectlyInvokable(classLoader, classToProxy, interceptedMethods[i]) ? new Label() : defaultLabel;
+        }
+
+        mv.visitVarInsn(Opcodes.ILOAD, 1);
+        mv.visitTableSwitchInsn(0, interceptedMethods.length - 1, defaultLabel, labels);
+
+        String owner = Type.getInternalName(classToProxy);
+        boolean isItf = classToProxy.isInterface();
+        for (int i = 0; i < interceptedMethods.length; i++)
+        {
+            if (labels[i] == defaultLabel)
+            {
+                continue;
+            }
+
+            Method method = interceptedMethods[i];
+            mv.visitLabel(labels[i]);
+
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int j = 0; j < parameterTypes.length; j++)
+            {
+                mv.visitVarInsn(Opcodes.ALOAD, 3);
+                pushIntOntoStack(mv, j);
+                mv.visitInsn(Opcodes.AALOAD);
+
+                Class<?> parameterType = parameterTypes[j];
+                if (parameterType.isPrimitive())
+                {
+                    // like Method#invoke we throw an IllegalArgumentException and not a NullPointerException
+                    Label notNull = new Label();
+                    mv.visitInsn(Opcodes.DUP);
+                    mv.visitJumpInsn(Opcodes.IFNONNULL, notNull);
+                    mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalArgumentException");
+                    mv.visitInsn(Opcodes.DUP);
+                    mv.visitLdcInsn("null passed for the primitive parameter " + j + " of " + method);
+                    mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>", "(Ljava/lang/String;)V", false);
+                    mv.visitInsn(Opcodes.ATHROW);
+                    mv.visitLabel(notNull);
+                }
+                mv.visitTypeInsn(Opcodes.CHECKCAST, getCastType(parameterType));
+                if (parameterType.isPrimitive())
+                {
+                    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, getWrapperType(parameterType), getPrimitiveMethod(parameterType),
+                            "()" + Type.getDescriptor(parameterType), false);
+                }
+            }
+
+            mv.visitMethodInsn(isItf ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, owner,
+                    method.getName(), Type.getMethodDescriptor(method), isItf);
+
+            Class<?> returnType = method.getReturnType();
+            if (Void.TYPE.equals(returnType))
+            {
+                mv.visitInsn(Opcodes.ACONST_NULL);
+            }
+            else if (returnType.isPrimitive())
+            {
+                String wrapperType = getWrapperType(returnType);
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapperType, "valueOf",
+                        "(" + Type.getDescriptor(returnType) + ")L" + wrapperType + ";", false);
+            }
+            mv.visitInsn(Opcodes.ARETURN);
+        }
+
+        mv.visitLabel(defaultLabel);
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/IllegalArgumentException");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/IllegalArgumentException", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.ATHROW);
+
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
     }
 
     private void generateInterceptorHandledMethod(ClassWriter cw, Method method, int methodIndex, Class<?> classToProxy, String proxyClassFileName)
@@ -27,10 +27,17 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
@@ -65,10 +72,25 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
      */
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
 
+    /**
+     * The proxy classes per ClassLoader and proxied class.
+     * The proxied methods only depend on the proxied class, so all beans with the same
+     * proxied class share one proxy class, e.g. producer methods returning the same type.
+     * Threads which need a proxy class which currently gets generated wait for the generating thread,
+     * other proxy classes get generated in parallel.
+     */
+    private final ConcurrentMap<ProxyClassKey, FutureTask<Class<?>>> sharedProxyClasses = new ConcurrentHashMap<>();
+
+    /**
+     * If proxy classes which got generated at build time should get used if they exist.
+     */
+    private final boolean usePregeneratedProxies;
+
 
     public NormalScopeProxyFactory(WebBeansContext webBeansContext)
     {
         super(webBeansContext);
+        usePregeneratedProxies = webBeansContext.getOpenWebBeansConfiguration().isUsePregeneratedProxies();
     }
 
     @Override
@@ -117,39 +139,57 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
     public <T> T createNormalScopeProxy(Bean<T> bean)
     {
-        ClassLoader classLoader;
-        if (bean.getBeanClass() != null)
-        {
-            classLoader = getProxyClassLoader(bean.getBeanClass());
-        }
-        else if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
+        ClassLoader classLoader = getClassLoader(bean);
+
+        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
+
+        if (proxyClass == null)
         {
-            classLoader = getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
+            proxyClass = createProxyClass(bean, classLoader, getClassToProxy(bean));
         }
-        else
+
+        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+    }
+
+    /**
+     * Creates the proxy class for the given bean without creating a proxy instance.
+     * This is used to create the proxy classes upfront during the deployment.
+     * @return the proxy class for the given bean
+     */
+    public <T> Class<T> createProxyClass(Bean<T> bean)
+    {
+        Class<T> proxyClass = (Class<T>) cachedProxyClasses.get(bean);
+
+        if (proxyClass == null)
         {
-            classLoader = WebBeansUtil.getCurrentClassLoader();
+            proxyClass = createProxyClass(bean, getClassLoader(bean), getClassToProxy(bean));
         }
 
-        Class<T> classToProxy;
-        if (bean instanceof OwbBean)
+        return proxyClass;
+    }
+
+    private ClassLoader getClassLoader(Bean<?> bean)
+    {
+        if (bean.getBeanClass() != null)
         {
-            classToProxy = ((OwbBean<T>) bean).getReturnType();
+            return getProxyClassLoader(bean.getBeanClass());
         }
-        else
+        else if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
         {
-            // TODO: that might be wrong sometimes
-            classToProxy = (Class<T>) bean.getBeanClass();
+            return getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
         }
+        return WebBeansUtil.getCurrentClassLoader();
+    }
 
-        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
-
-        if (proxyClass == null)
+    private <T> Class<T> getClassToProxy(Bean<T> bean)
+    {
+        if (bean instanceof OwbBean)
         {
-            proxyClass = createProxyClass(bean, classLoader, classToProxy);
+            return ((OwbBean<T>) bean).getReturnType();
         }
 
-        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+        // TODO: that might be wrong sometimes
+        return (Class<T>) bean.getBeanClass();
     }
 
     public Provider getInstanceProvider(ClassLoader classLoader, Bean<?> bean)
@@ -191,17 +231,44 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         }
     }
 
-    public synchronized <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy)
+    public <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy)
     {
         Class<T> proxyClass = (Class<T>) cachedProxyClasses.get(bean);
+        if (proxyClass != null)
+        {
+            return proxyClass;
+        }
 
-        if (proxyClass == null)
+        ProxyClassKey key = new ProxyClassKey(classLoader, classToProxy);
+        FutureTask<Class<?>> task = sharedProxyClasses.get(key);
+        if (task == null)
         {
-            proxyClass = createProxyClass(classLoader, classToProxy);
-            cachedProxyClasses.putIfAbsent(bean, proxyClass);
+            FutureTask<Class<?>> newTask = new FutureTask<>(() -> createProxyClass(classLoader, classToProxy));
+            task = sharedProxyClasses.putIfAbsent(key, newTask);
+            if (task == null)
+            {
+                task = newTask;
+                newTask.run();
+            }
         }
 
-        return proxyClass;
+        try
+        {
+            proxyClass = (Class<T>) task.get();
+            cachedProxyClasses.putIfAbsent(bean, proxyClass);
+            return proxyClass;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new ProxyGenerationException(e);
+        }
+        catch (ExecutionException e)
+        {
+            // don't cache the failure, the next call should try again
+            sharedProxyClasses.remove(key, task);
+            throw ExceptionUtil.throwAsRuntimeException(e.getCause());
+        }
     }
 
     @Override
@@ -232,42 +299,21 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     public <T> Class<T> createProxyClass(ClassLoader classLoader, Class<T> classToProxy)
             throws ProxyGenerationException
     {
-        String proxyClassName = getUnusedProxyClassName(classLoader, classToProxy.getName() + "$$OwbNormalScopeProxy");
+        ProxiedMethods proxiedMethods = new ProxiedMethods(classToProxy);
 
-        Method[] nonInterceptedMethods;
-        Method[] interceptedMethods = null;
-        if (classToProxy.isInterface())
+        Class<T> clazz = null;
+        if (usePregeneratedProxies)
         {
-            nonInterceptedMethods = classToProxy.getMethods();
+            clazz = loadPregeneratedProxyClass(classLoader, classToProxy, proxiedMethods);
         }
-        else
+        if (clazz == null)
         {
-            List<Method> methods = new ArrayList<>();
-            List<Method> protectedMethods = new ArrayList<>();
-
-
-            for (Method method : ClassUtil.getNonPrivateMethods(classToProxy, true))
-            {
-                if (unproxyableMethod(method))
-                {
-                    continue;
-                }
-                if (Modifier.isProtected(method.getModifiers()))
-                {
-                    protectedMethods.add(method);
-                }
-                else
-                {
-                    methods.add(method);
-                }
-            }
-
-            nonInterceptedMethods = methods.toArray(new Method[methods.size()]);
-            interceptedMethods = protectedMethods.toArray(new Method[protectedMethods.size()]);
+            String proxyClassName = getUnusedProxyClassName(classLoader, classToProxy.getName() + "$$OwbNormalScopeProxy");
+            clazz = createProxyClass(classLoader, proxyClassName, classToProxy,
+                    proxiedMethods.interceptedMethods, proxiedMethods.nonInterceptedMethods);
         }
 
-        Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
-
+        Method[] interceptedMethods = proxiedMethods.interceptedMethods;
         if (interceptedMethods != null && interceptedMethods.length > 0)
         {
             try
@@ -284,6 +330,95 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         return clazz;
     }
 
+    /**
+     * The name of a pregenerated proxy class contains a fingerprint of all proxied methods.
+     * Thus a proxy class which got generated for an outdated version of the class to proxy
+     * simply doesn't get found.
+     *
+     * @return the name under which the proxy class for the given class gets pregenerated
+     */
+    public String getPregeneratedProxyClassName(Class<?> classToProxy)
+    {
+        return getPregeneratedProxyClassName(classToProxy, new ProxiedMethods(classToProxy));
+    }
+
+    /**
+     * Generates the bytecode of the proxy class for the given class without defining it.
+     * This is used to generate the proxy classes at build time.
+     *
+     * @return the bytecode of the class named {@link #getPregeneratedProxyClassName(Class)}
+     */
+    public byte[] generatePregeneratedProxyClass(ClassLoader classLoader, Class<?> classToProxy)
+            throws ProxyGenerationException
+    {
+        ProxiedMethods proxiedMethods = new ProxiedMethods(classToProxy);
+        return generateProxyBytes(classLoader, getPregeneratedProxyClassName(classToProxy, proxiedMethods), classToProxy,
+                proxiedMethods.interceptedMethods, proxiedMethods.nonInterceptedMethods, null);
+    }
+
+    private <T> Class<T> loadPregeneratedProxyClass(ClassLoader classLoader, Class<T> classToProxy, ProxiedMethods proxiedMethods)
+    {
+        try
+        {
+            Class<?> clazz = Class.forName(getPregeneratedProxyClassName(classToProxy, proxiedMethods), true, classLoader);
+            if (classToProxy.isAssignableFrom(clazz) && OwbNormalScopeProxy.class.isAssignableFrom(clazz))
+            {
+                return (Class<T>) clazz;
+            }
+        }
+        catch (ClassNotFoundException | LinkageError e)
+        {
+            // not pregenerated, so we generate it at runtime
+        }
+        return null;
+    }
+
+    private String getPregeneratedProxyClassName(Class<?> classToProxy, ProxiedMethods proxiedMethods)
+    {
+        List<String> signatures = new ArrayList<>();
+        addSignatures(signatures, proxiedMethods.nonInterceptedMethods, "public ");
+        addSignatures(signatures, proxiedMethods.interceptedMethods, "protected ");
+        Collections.sort(signatures);
+
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String signature : signatures)
+            {
+                digest.update(signature.getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] hash = digest.digest();
+
+            StringBuilder name = new StringBuilder(classToProxy.getName()).append("$$OwbNormalScopeProxy$");
+            for (int i = 0; i < 8; i++)
+            {
+                name.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+            }
+            return fixPreservedPackages(name.toString());
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            // every JVM has to provide SHA-256
+            throw new ProxyGenerationException(e);
+        }
+    }
+
+    private static void addSignatures(List<String> signatures, Method[] methods, String prefix)
+    {
+        if (methods != null)
+        {
+            for (Method method : methods)
+            {
+                signatures.add(prefix + getSignature(method) + ';');
+            }
+        }
+    }
+
+    private static String getSignature(Method method)
+    {
+        return method.getDeclaringClass().getName() + '.' + method.getName() + Type.getMethodDescriptor(method);
+    }
+
     public <T> T createProxyInstance(Class<T> proxyClass, Provider provider)
             throws ProxyGenerationException
     {
@@ -529,4 +664,87 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         }
     }
 
+
+    /**
+     * The methods of a class which get proxied.
+     * The protected methods get invoked via reflection using their index in {@link #FIELD_PROTECTED_METHODS},
+     * so they are sorted to get the same indices for each run.
+     */
+    private final class ProxiedMethods
+    {
+        private final Method[] nonInterceptedMethods;
+        private final Method[] interceptedMethods;
+
+        private ProxiedMethods(Class<?> classToProxy)
+        {
+            if (classToProxy.isInterface())
+            {
+                nonInterceptedMethods = classToProxy.getMethods();
+                interceptedMethods = null;
+                return;
+            }
+
+            List<Method> methods = new ArrayList<>();
+            List<Method> protectedMethods = new ArrayList<>();
+
+            for (Method method : ClassUtil.getNonPrivateMethods(classToProxy, true))
+            {
+                if (unproxyableMethod(method))
+                {
+                    continue;
+                }
+                if (Modifier.isProtected(method.getModifiers()))
+                {
+                    protectedMethods.add(method);
+                }
+                else
+                {
+                    methods.add(method);
+                }
+            }
+            protectedMethods.sort(Comparator.comparing(NormalScopeProxyFactory::getSignature));
+
+            nonInterceptedMethods = methods.toArray(new Method[methods.size()]);
+            interceptedMethods = protectedMethods.toArray(new Method[protectedMethods.size()]);
+        }
+    }
+
+    /**
+     * Identifies a shared proxy class.
+     * The ClassLoader and the proxied class get compared by identity.
+     */
+    private static final class ProxyClassKey
+    {
+        private final ClassLoader classLoader;
+        private final Class<?> classToProxy;
+        private final int hashCode;
+
+        private ProxyClassKey(ClassLoader classLoader, Class<?> classToProxy)
+        {
+            this.classLoader = classLoader;
+            this.classToProxy = classToProxy;
+            hashCode = 31 * System.identityHashCode(classLoader) + classToProxy.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof ProxyClassKey))
+            {
+                return false;
+            }
+            ProxyClassKey other = (ProxyClassKey) o;
+            return classLoader == other.classLoader && classToProxy == other.classToProxy;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
 }
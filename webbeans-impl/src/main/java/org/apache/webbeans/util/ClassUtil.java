@@ -89,13 +89,22 @@ public final class ClassUtil
     }
 
     public static Class<?> getClassFromName(String name)
+    {
+        return getClassFromName(name, true);
+    }
+
+    /**
+     * @param initialize whether the static initializers of the class should get invoked
+     * @return the class with the given name or {@code null} if it cannot be found
+     */
+    public static Class<?> getClassFromName(String name, boolean initialize)
     {
         Class<?> clazz;
         ClassLoader loader;
         try
         {
             loader = WebBeansUtil.getCurrentClassLoader();
-            clazz = Class.forName(name, true , loader);
+            clazz = Class.forName(name, initialize, loader);
             return clazz;
 
         }
@@ -104,7 +113,7 @@ public final class ClassUtil
             try
             {
                 loader = ClassUtil.class.getClassLoader(); 
-                clazz = Class.forName(name, true , loader);
+                clazz = Class.forName(name, initialize, loader);
 
                 return clazz;
 
@@ -114,7 +123,7 @@ public final class ClassUtil
                 try
                 {
                     loader = ClassLoader.getSystemClassLoader();
-                    clazz = Class.forName(name, true , loader);
+                    clazz = Class.forName(name, initialize, loader);
 
                     return clazz;
 
@@ -894,7 +903,11 @@ public final class ClassUtil
         return ipClass.equals(apiClass);
     }
 
-    private static Class getRawPrimitiveType(Type type)
+    /**
+     * @return the raw class of the given type, the wrapper class for primitives
+     *         or {@code null} if the type is neither a Class nor a ParameterizedType
+     */
+    public static Class getRawPrimitiveType(Type type)
     {
         if (type instanceof Class)
         {
@@ -41,6 +41,11 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
     private List<String> excludedPackages;
     private List<String> allowProxyingClasses = new ArrayList<>();
 
+    /**
+     * Whether any exclude got evaluated against the ClassLoader or the system properties.
+     */
+    private boolean conditionalExcludes;
+
     public DefaultBeanArchiveInformation(String bdaUrl)
     {
         this.bdaUrl = bdaUrl;
@@ -200,6 +205,20 @@ public class DefaultBeanArchiveInformation implements BeanArchiveService.BeanArc
         this.excludedPackages = excludedPackages;
     }
 
+    /**
+     * @return {@code true} if the excludes of this bean archive depend on the available classes or on system properties
+     *         via &lt;if-class-available&gt;, &lt;if-class-not-available&gt; or &lt;if-system-property&gt;
+     */
+    public boolean hasConditionalExcludes()
+    {
+        return conditionalExcludes;
+    }
+
+    public void setConditionalExcludes(boolean conditionalExcludes)
+    {
+        this.conditionalExcludes = conditionalExcludes;
+    }
+
     @Override
     public List<String> getAllowProxyingClasses()
     {
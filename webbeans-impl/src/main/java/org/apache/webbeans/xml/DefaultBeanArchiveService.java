@@ -123,6 +123,16 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return bdaInfo;
     }
 
+    /**
+     * Registers an already known BeanArchiveInformation, e.g. one restored from a scan index,
+     * so that the beans.xml of this bean archive doesn't need to get parsed again.
+     */
+    public void registerBeanArchiveInformation(URL beanArchiveUrl, BeanArchiveInformation bdaInfo)
+    {
+        beanArchiveInformations.put(beanArchiveUrl.toExternalForm(), bdaInfo);
+        registeredBeanArchives.add(beanArchiveUrl);
+    }
+
     /**
      * Merge the BDA info from webInfClasses with the one from WEB-INF/beans.xml
      */
@@ -153,6 +163,7 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
         mergedBdaInfo.setExcludedClasses(mergeLists(bdaWebClasses.getExcludedClasses(), bdaWebInf.getExcludedClasses()));
         mergedBdaInfo.setExcludedPackages(mergeLists(bdaWebClasses.getExcludedPackages(), bdaWebInf.getExcludedPackages()));
+        mergedBdaInfo.setConditionalExcludes(hasConditionalExcludes(bdaWebClasses) || hasConditionalExcludes(bdaWebInf));
 
         mergedBdaInfo.setInterceptors(mergeLists(bdaWebClasses.getInterceptors(), bdaWebInf.getInterceptors()));
         mergedBdaInfo.setDecorators(mergeLists(bdaWebClasses.getDecorators(), bdaWebInf.getDecorators()));
@@ -164,6 +175,11 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return mergedBdaInfo;
     }
 
+    private static boolean hasConditionalExcludes(BeanArchiveInformation bdaInfo)
+    {
+        return bdaInfo instanceof DefaultBeanArchiveInformation && ((DefaultBeanArchiveInformation) bdaInfo).hasConditionalExcludes();
+    }
+
     private List<String> mergeLists(List<String> list1, List<String> list2)
     {
         if (list1 == null || list1.isEmpty())
@@ -470,6 +486,7 @@ public class DefaultBeanArchiveService implements BeanArchiveService
                     }
 
                     Element condition = Element.class.cast(ndChild);
+                    bdaInfo.setConditionalExcludes(true);
 
                     String localName = condition.getLocalName();
                     if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
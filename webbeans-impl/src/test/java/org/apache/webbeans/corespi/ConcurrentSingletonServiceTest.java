@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ConcurrentSingletonServiceTest
+{
+    @Test
+    public void testContextPerClassLoader()
+    {
+        ConcurrentSingletonService service = new ConcurrentSingletonService();
+        ClassLoader loader1 = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        ClassLoader loader2 = new URLClassLoader(new URL[0], getClass().getClassLoader());
+
+        WebBeansContext context1 = service.get(loader1);
+        assertNotNull(context1);
+        assertSame(context1, service.get(loader1));
+
+        WebBeansContext context2 = service.get(loader2);
+        assertNotSame(context1, context2);
+        assertSame(context1, service.get(loader1));
+        assertSame(context2, service.get(loader2));
+
+        service.clear(loader1);
+        assertNotSame(context1, service.get(loader1));
+        assertSame(context2, service.get(loader2));
+    }
+
+    @Test
+    public void testRegister()
+    {
+        ConcurrentSingletonService service = new ConcurrentSingletonService();
+        ClassLoader loader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        WebBeansContext context = new WebBeansContext();
+
+        service.register(loader, context);
+        assertSame(context, service.get(loader));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterTwice()
+    {
+        ConcurrentSingletonService service = new ConcurrentSingletonService();
+        ClassLoader loader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+
+        service.register(loader, new WebBeansContext());
+        service.register(loader, new WebBeansContext());
+    }
+}
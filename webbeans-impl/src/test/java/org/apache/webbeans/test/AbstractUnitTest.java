@@ -20,6 +20,7 @@ package org.apache.webbeans.test;
 
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
+import org.apache.webbeans.corespi.DefaultSingletonService;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.inject.OWBInjector;
 import org.apache.webbeans.lifecycle.test.OpenWebBeansTestLifeCycle;
@@ -40,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Properties;
 import java.util.Set;
 
 
@@ -49,6 +51,7 @@ public abstract class AbstractUnitTest
     private List<Extension>  extensions = new ArrayList<Extension>();
     private List<Class<?>> interceptors = new ArrayList<Class<?>>();
     private List<Class<?>> decorators = new ArrayList<Class<?>>();
+    private Properties configuration = new Properties();
     private WebBeansContext webBeansContext;
 
     protected AbstractUnitTest()
@@ -62,6 +65,7 @@ public abstract class AbstractUnitTest
         extensions.clear();
         interceptors.clear();
         decorators.clear();
+        configuration.clear();
     }
 
     /**
@@ -106,9 +110,19 @@ public abstract class AbstractUnitTest
         beanClasses.addAll(rawBeanClasses);
 
         WebBeansFinder.clearInstances(WebBeansUtil.getCurrentClassLoader());
+
+        if (!configuration.isEmpty())
+        {
+            // the configuration must be known when the WebBeansContext gets created, e.g. for the SPI services
+            Properties properties = new Properties();
+            properties.putAll(configuration);
+            ((DefaultSingletonService) WebBeansFinder.getSingletonService()).register(WebBeansUtil.getCurrentClassLoader(),
+                    new WebBeansContext(null, properties));
+        }
+
         //Creates a new container
         testLifecycle = new OpenWebBeansTestLifeCycle();
-        
+
         webBeansContext = WebBeansContext.getInstance();
         for (Extension ext : extensions)
         {
@@ -260,6 +274,17 @@ public abstract class AbstractUnitTest
         this.extensions.add(ext);
     }
 
+    /**
+     * Add a configuration property which overrides the one of openwebbeans.properties
+     * in the container started by the next startContainer.
+     * Unlike a system property this also works for keys which are not part of any openwebbeans.properties,
+     * e.g. SPI services which are not configured by default.
+     */
+    protected void addConfiguration(String key, String value)
+    {
+        configuration.setProperty(key, value);
+    }
+
     /**
      * Add the given interceptor class to get picked up
      * by startContainer.
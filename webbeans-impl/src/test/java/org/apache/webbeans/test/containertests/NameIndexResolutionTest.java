@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.Alternative;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Named;
+
+import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NameIndexResolutionTest extends AbstractUnitTest
+{
+    @Test
+    public void testIndexedResolutionMatchesDynamicResolution()
+    {
+        startContainer(Greeter.class, AlternativeGreeter.class, Counter.class);
+
+        InjectionResolver resolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+
+        Bean<?> greeter = resolver.resolveByName("greeter");
+        Bean<?> counter = resolver.resolveByName("counter");
+        Assert.assertEquals(AlternativeGreeter.class, greeter.getBeanClass());
+        Assert.assertEquals(Counter.class, counter.getBeanClass());
+        Assert.assertEquals(2, getBeanManager().getBeans("greeter").size());
+
+        Assert.assertNull(resolver.resolveByName("facesContext"));
+        Assert.assertTrue(getBeanManager().getBeans("facesContext").isEmpty());
+
+        // dropping the caches also drops the name index
+        resolver.clearCaches();
+
+        Assert.assertSame(greeter, resolver.resolveByName("greeter"));
+        Assert.assertSame(counter, resolver.resolveByName("counter"));
+        Assert.assertEquals(2, getBeanManager().getBeans("greeter").size());
+        Assert.assertNull(resolver.resolveByName("facesContext"));
+    }
+
+    @Named
+    @ApplicationScoped
+    public static class Greeter
+    {
+    }
+
+    @Named("greeter")
+    @Alternative
+    @Priority(100)
+    @ApplicationScoped
+    public static class AlternativeGreeter extends Greeter
+    {
+    }
+
+    @Named
+    @RequestScoped
+    public static class Counter
+    {
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.containertests;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Qualifier;
+
+import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeIndexResolutionTest extends AbstractUnitTest
+{
+    @Before
+    public void enableTypeIndex()
+    {
+        System.setProperty(OpenWebBeansConfiguration.TYPE_INDEX, "true");
+    }
+
+    @After
+    public void disableTypeIndex()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.TYPE_INDEX);
+    }
+
+    @Test
+    public void testIndexedResolutionMatchesDynamicResolution()
+    {
+        startContainer(StringRepository.class, NumberRepository.class, SpecialRepository.class,
+                       RepositoryProducer.class, Special.class);
+
+        List<Set<Bean<?>>> indexed = resolveAll();
+
+        // dropping the caches also drops the type index
+        getWebBeansContext().getBeanManagerImpl().getInjectionResolver().clearCaches();
+
+        List<Set<Bean<?>>> dynamic = resolveAll();
+
+        Assert.assertEquals(dynamic, indexed);
+        Assert.assertEquals(1, indexed.get(0).size());
+        Assert.assertEquals(1, indexed.get(1).size());
+        Assert.assertEquals(1, indexed.get(3).size());
+        Assert.assertEquals(SpecialRepository.class, indexed.get(3).iterator().next().getBeanClass());
+    }
+
+    @Test
+    public void testUnknownTypesAreStillResolved()
+    {
+        startContainer(StringRepository.class);
+
+        Set<Bean<?>> beans = getBeanManager().getBeans(new TypeLiteral<Repository<? extends CharSequence>>()
+        {
+        }.getType());
+        Assert.assertEquals(1, beans.size());
+        Assert.assertTrue(getBeanManager().getBeans(Runnable.class).isEmpty());
+    }
+
+    private List<Set<Bean<?>>> resolveAll()
+    {
+        List<Set<Bean<?>>> result = new ArrayList<>();
+        result.add(getBeans(new TypeLiteral<Repository<String>>() { }.getType()));
+        result.add(getBeans(new TypeLiteral<Repository<Integer>>() { }.getType()));
+        result.add(getBeans(Repository.class, AnyLiteral.INSTANCE));
+        result.add(getBeans(new TypeLiteral<Repository<Long>>() { }.getType(), new AnnotationLiteral<Special>() { }));
+        result.add(getBeans(new TypeLiteral<Repository<Long>>() { }.getType(), AnyLiteral.INSTANCE));
+        result.add(getBeans(StringRepository.class));
+        result.add(getBeans(Object.class));
+        return result;
+    }
+
+    private Set<Bean<?>> getBeans(Type type, Annotation... qualifiers)
+    {
+        return getBeanManager().getBeans(type, qualifiers);
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Special
+    {
+    }
+
+    public interface Repository<T>
+    {
+        T get();
+    }
+
+    @ApplicationScoped
+    public static class StringRepository implements Repository<String>
+    {
+        @Override
+        public String get()
+        {
+            return "string";
+        }
+    }
+
+    @Dependent
+    public static class NumberRepository implements Repository<Integer>
+    {
+        @Override
+        public Integer get()
+        {
+            return 1;
+        }
+    }
+
+    @Special
+    @Dependent
+    public static class SpecialRepository implements Repository<Long>
+    {
+        @Override
+        public Long get()
+        {
+            return 1L;
+        }
+    }
+
+    @Dependent
+    public static class RepositoryProducer
+    {
+        @Produces
+        public Repository<Long> produceLongRepository()
+        {
+            return new Repository<Long>()
+            {
+                @Override
+                public Long get()
+                {
+                    return 2L;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.lang.annotation.Annotation;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.AbstractContextsService;
+import org.apache.webbeans.context.ContextAccessor;
+import org.apache.webbeans.corespi.se.DefaultContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextAccessorTest extends AbstractUnitTest
+{
+    @Test
+    public void testAccessorReturnsTheCurrentContext()
+    {
+        startContainer(RequestCounter.class);
+
+        AbstractContextsService contextsService = (AbstractContextsService) getWebBeansContext().getContextsService();
+        Assert.assertNull(contextsService.getContextAccessor(ConversationScoped.class));
+
+        ContextAccessor requestAccessor = contextsService.getContextAccessor(RequestScoped.class);
+        Assert.assertSame(getBeanManager().getContext(RequestScoped.class), requestAccessor.getCurrentContext());
+        Assert.assertSame(getBeanManager().getContext(SessionScoped.class),
+                contextsService.getContextAccessor(SessionScoped.class).getCurrentContext());
+        Assert.assertSame(getBeanManager().getContext(ApplicationScoped.class),
+                contextsService.getContextAccessor(ApplicationScoped.class).getCurrentContext());
+
+        restartContext(RequestScoped.class);
+        Assert.assertSame(getBeanManager().getContext(RequestScoped.class), requestAccessor.getCurrentContext());
+    }
+
+    @Test
+    public void testSubclassesDontGetTheBuiltInAccessor()
+    {
+        startContainer(RequestCounter.class);
+
+        CustomContextsService contextsService = new CustomContextsService(getWebBeansContext());
+        Assert.assertNull(contextsService.getContextAccessor(RequestScoped.class));
+        Assert.assertNull(contextsService.getContextAccessor(ApplicationScoped.class));
+    }
+
+    @Test
+    public void testProxyFollowsTheCurrentContext()
+    {
+        startContainer(RequestCounter.class);
+
+        RequestCounter counter = getInstance(RequestCounter.class);
+        counter.increment();
+        counter.increment();
+        Assert.assertEquals(2, counter.getCount());
+
+        restartContext(RequestScoped.class);
+        Assert.assertEquals(0, counter.getCount());
+        counter.increment();
+
+        endContext(RequestScoped.class);
+        try
+        {
+            counter.getCount();
+            Assert.fail("ContextNotActiveException expected");
+        }
+        catch (ContextNotActiveException cnae)
+        {
+            // expected
+        }
+
+        startContext(RequestScoped.class);
+        Assert.assertEquals(0, counter.getCount());
+    }
+
+    public static class CustomContextsService extends DefaultContextsService
+    {
+        public CustomContextsService(WebBeansContext webBeansContext)
+        {
+            super(webBeansContext);
+        }
+
+        @Override
+        public Context getCurrentContext(Class<? extends Annotation> scopeType)
+        {
+            return super.getCurrentContext(scopeType);
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int count;
+
+        public void increment()
+        {
+            count++;
+        }
+
+        public int getCount()
+        {
+            return count;
+        }
+    }
+}
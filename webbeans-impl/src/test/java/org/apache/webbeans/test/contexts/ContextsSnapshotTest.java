@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.context.AbstractContextsService;
+import org.apache.webbeans.context.ContextsSnapshot;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextsSnapshotTest extends AbstractUnitTest
+{
+    @Test
+    public void testRequestContextGetsPropagated() throws Exception
+    {
+        startContainer(RequestState.class);
+
+        RequestState state = getInstance(RequestState.class);
+        state.setValue("main");
+
+        AbstractContextsService contextsService = (AbstractContextsService) getWebBeansContext().getContextsService();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try
+        {
+            String value = CompletableFuture
+                    .supplyAsync(state::getValue, contextsService.propagatingExecutor(pool))
+                    .get(10, TimeUnit.SECONDS);
+            Assert.assertEquals("main", value);
+
+            // the pool thread must not keep the context once the task is done
+            String leaked = CompletableFuture.supplyAsync(() ->
+            {
+                try
+                {
+                    return state.getValue();
+                }
+                catch (ContextNotActiveException cnae)
+                {
+                    return null;
+                }
+            }, pool).get(10, TimeUnit.SECONDS);
+            Assert.assertNull(leaked);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testActivationRestoresThePreviousContexts() throws Exception
+    {
+        startContainer(RequestState.class);
+
+        RequestState state = getInstance(RequestState.class);
+        state.setValue("main");
+
+        // a snapshot of a thread without any active context
+        AbstractContextsService contextsService = (AbstractContextsService) getWebBeansContext().getContextsService();
+        ContextsSnapshot empty = CompletableFuture.supplyAsync(contextsService::snapshotContexts).get(10, TimeUnit.SECONDS);
+
+        try (ContextsSnapshot.Activation activation = empty.activate())
+        {
+            state.getValue();
+            Assert.fail("ContextNotActiveException expected");
+        }
+        catch (ContextNotActiveException cnae)
+        {
+            // expected
+        }
+        Assert.assertEquals("main", state.getValue());
+    }
+
+    @RequestScoped
+    public static class RequestState
+    {
+        private String value;
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        public void setValue(String value)
+        {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.context.ContextualInstanceMap;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContextualInstanceMapTest extends AbstractUnitTest
+{
+    @Test
+    public void testDeployedBeansGetDenseSlots()
+    {
+        startContainer(Counter.class, RequestCounter.class, DependentHelper.class);
+
+        AbstractOwbBean<?> counterBean = (AbstractOwbBean<?>) getBean(Counter.class);
+        AbstractOwbBean<?> requestCounterBean = (AbstractOwbBean<?>) getBean(RequestCounter.class);
+        Assert.assertTrue(counterBean.getContextSlot() >= 0);
+        Assert.assertTrue(requestCounterBean.getContextSlot() >= 0);
+        Assert.assertEquals(-1, ((AbstractOwbBean<?>) getBean(DependentHelper.class)).getContextSlot());
+
+        // the slots are only dense among the beans of the same scope
+        Assert.assertTrue(requestCounterBean.getContextSlot() < countBeans(RequestScoped.class));
+        Assert.assertTrue(counterBean.getContextSlot() < countBeans(ApplicationScoped.class));
+
+        Counter counter = getInstance(Counter.class);
+        counter.increment();
+        counter.increment();
+        Assert.assertEquals(2, getInstance(Counter.class).getCount());
+
+        getInstance(RequestCounter.class).increment();
+        Assert.assertEquals(1, getInstance(RequestCounter.class).getCount());
+        restartContext(RequestScoped.class);
+        Assert.assertEquals(0, getInstance(RequestCounter.class).getCount());
+    }
+
+    @Test
+    public void testSlotAndFallbackStorage()
+    {
+        startContainer(Counter.class);
+
+        AbstractOwbBean<?> slotBean = (AbstractOwbBean<?>) getBean(Counter.class);
+        Contextual<Object> thirdPartyContextual = new SimpleContextual();
+
+        ContextualInstanceMap map = new ContextualInstanceMap(ApplicationScoped.class);
+        BeanInstanceBag<Object> slotBag = new BeanInstanceBag<>(null);
+        BeanInstanceBag<Object> thirdPartyBag = new BeanInstanceBag<>(null);
+
+        Assert.assertNull(map.putIfAbsent(slotBean, slotBag));
+        Assert.assertSame(slotBag, map.putIfAbsent(slotBean, new BeanInstanceBag<>(null)));
+        Assert.assertNull(map.put(thirdPartyContextual, thirdPartyBag));
+
+        Assert.assertSame(slotBag, map.get(slotBean));
+        Assert.assertSame(thirdPartyBag, map.get(thirdPartyContextual));
+        Assert.assertEquals(2, map.size());
+
+        Set<Contextual<?>> keys = new HashSet<>(map.keySet());
+        Assert.assertTrue(keys.contains(slotBean));
+        Assert.assertTrue(keys.contains(thirdPartyContextual));
+
+        Assert.assertSame(slotBag, map.remove(slotBean));
+        Assert.assertNull(map.get(slotBean));
+        Assert.assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testBeansOfOtherScopesDontShareSlots()
+    {
+        startContainer(Counter.class, RequestCounter.class);
+
+        AbstractOwbBean<?> counterBean = (AbstractOwbBean<?>) getBean(Counter.class);
+        AbstractOwbBean<?> requestCounterBean = (AbstractOwbBean<?>) getBean(RequestCounter.class);
+        int counterSlot = counterBean.getContextSlot();
+        try
+        {
+            counterBean.setContextSlot(requestCounterBean.getContextSlot());
+
+            ContextualInstanceMap map = new ContextualInstanceMap(RequestScoped.class);
+            BeanInstanceBag<Object> counterBag = new BeanInstanceBag<>(null);
+            BeanInstanceBag<Object> requestCounterBag = new BeanInstanceBag<>(null);
+            Assert.assertNull(map.putIfAbsent(requestCounterBean, requestCounterBag));
+            Assert.assertNull(map.putIfAbsent(counterBean, counterBag));
+
+            Assert.assertSame(requestCounterBag, map.get(requestCounterBean));
+            Assert.assertSame(counterBag, map.get(counterBean));
+            Assert.assertEquals(2, map.size());
+        }
+        finally
+        {
+            counterBean.setContextSlot(counterSlot);
+        }
+    }
+
+    @Test
+    public void testInstancesStoredBeforeTheSlotGotAssigned()
+    {
+        startContainer(Counter.class);
+
+        AbstractOwbBean<?> bean = (AbstractOwbBean<?>) getBean(Counter.class);
+        int slot = bean.getContextSlot();
+
+        ContextualInstanceMap map = new ContextualInstanceMap(ApplicationScoped.class);
+        BeanInstanceBag<Object> bag = new BeanInstanceBag<>(null);
+        try
+        {
+            bean.setContextSlot(-1);
+            map.put(bean, bag);
+        }
+        finally
+        {
+            bean.setContextSlot(slot);
+        }
+
+        Assert.assertSame(bag, map.get(bean));
+        Assert.assertSame(bag, map.putIfAbsent(bean, new BeanInstanceBag<>(null)));
+        Assert.assertSame(bag, map.remove(bean));
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    private int countBeans(Class<? extends Annotation> scope)
+    {
+        int count = 0;
+        for (Bean<?> bean : getBeanManager().getBeans(Object.class, AnyLiteral.INSTANCE))
+        {
+            if (bean.getScope() == scope)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        private int count;
+
+        public void increment()
+        {
+            count++;
+        }
+
+        public int getCount()
+        {
+            return count;
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int count;
+
+        public void increment()
+        {
+            count++;
+        }
+
+        public int getCount()
+        {
+            return count;
+        }
+    }
+
+    @Dependent
+    public static class DependentHelper
+    {
+    }
+
+    private static class SimpleContextual implements Contextual<Object>
+    {
+        @Override
+        public Object create(CreationalContext<Object> creationalContext)
+        {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext)
+        {
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CreationalContextDependentsTest extends AbstractUnitTest
+{
+    @Test
+    public void testDependentsGetDestroyedInInsertionOrder()
+    {
+        startContainer();
+
+        List<Object> destroyed = Collections.synchronizedList(new ArrayList<>());
+        RecordingContextual contextual = new RecordingContextual(destroyed);
+        CreationalContextImpl<Object> creationalContext = newCreationalContext(contextual);
+
+        creationalContext.addDependent(contextual, "first");
+        creationalContext.addDependent(contextual, "second");
+        creationalContext.addDependent(contextual, "third");
+        creationalContext.addDependent(contextual, "fourth");
+
+        creationalContext.destroyDependent("second");
+        Assert.assertEquals(Collections.singletonList("second"), destroyed);
+        Assert.assertFalse(creationalContext.containsDependent(contextual, "second"));
+        Assert.assertTrue(creationalContext.containsDependent(contextual, "third"));
+
+        creationalContext.release();
+        Assert.assertEquals(Arrays.asList("second", "first", "third", "fourth"), destroyed);
+        Assert.assertFalse(creationalContext.containsDependent(contextual, "third"));
+    }
+
+    @Test
+    public void testConcurrentlyAddedDependentsGetDestroyedOnce() throws Exception
+    {
+        startContainer();
+
+        List<Object> destroyed = Collections.synchronizedList(new ArrayList<>());
+        RecordingContextual contextual = new RecordingContextual(destroyed);
+        CreationalContextImpl<Object> creationalContext = newCreationalContext(contextual);
+
+        int threadCount = 8;
+        int perThread = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++)
+        {
+            int offset = t * perThread;
+            Thread thread = new Thread(() ->
+            {
+                try
+                {
+                    start.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++)
+                {
+                    Integer instance = offset + i;
+                    creationalContext.addDependent(contextual, instance);
+                    if (i % 10 == 0)
+                    {
+                        creationalContext.destroyDependent(instance);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        creationalContext.release();
+        Assert.assertEquals(threadCount * perThread, destroyed.size());
+        Assert.assertEquals(threadCount * perThread, new HashSet<>(destroyed).size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CreationalContextImpl<Object> newCreationalContext(Contextual<Object> contextual)
+    {
+        return (CreationalContextImpl<Object>) getBeanManager().createCreationalContext(contextual);
+    }
+
+    private static class RecordingContextual implements Contextual<Object>
+    {
+        private final List<Object> destroyed;
+
+        private RecordingContextual(List<Object> destroyed)
+        {
+            this.destroyed = destroyed;
+        }
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext)
+        {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext)
+        {
+            destroyed.add(instance);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.context.PassivatingContext;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PassivatingContextDeltaTest extends AbstractUnitTest
+{
+    @Test
+    public void testOnlyChangedInstancesGetWritten() throws Exception
+    {
+        startContainer(Cart.class, Preferences.class);
+
+        Bean<Cart> cartBean = getBean(Cart.class);
+        Bean<Preferences> preferencesBean = getBean(Preferences.class);
+
+        SessionContext sender = newSessionContext();
+        Cart cart = sender.get(cartBean, getBeanManager().createCreationalContext(cartBean));
+        Preferences preferences = sender.get(preferencesBean, getBeanManager().createCreationalContext(preferencesBean));
+        preferences.setLanguage("de");
+
+        SessionContext receiver = newSessionContext();
+
+        Assert.assertEquals(2, replicate(sender, receiver));
+        Assert.assertEquals("de", receiver.get(preferencesBean).getLanguage());
+
+        // nothing changed
+        Assert.assertEquals(0, replicate(sender, receiver));
+
+        // a lookup in the context marks the instance as dirty
+        sender.get(cartBean).add("book");
+        Assert.assertEquals(1, replicate(sender, receiver));
+        Assert.assertEquals(1, receiver.get(cartBean).getItems());
+        Assert.assertEquals("de", receiver.get(preferencesBean).getLanguage());
+
+        // changes via a plain reference need to get marked explicitly
+        cart.add("pen");
+        Assert.assertEquals(0, replicate(sender, receiver));
+        sender.markDirty(cartBean);
+        Assert.assertEquals(1, replicate(sender, receiver));
+        Assert.assertEquals(2, receiver.get(cartBean).getItems());
+
+        sender.destroy(preferencesBean);
+        Assert.assertEquals(0, replicate(sender, receiver));
+        Assert.assertNull(receiver.get(preferencesBean));
+        Assert.assertNotNull(receiver.get(cartBean));
+    }
+
+    @Test
+    public void testSharedObjectsStaySharedOnTheReceiver() throws Exception
+    {
+        startContainer(Cart.class, Preferences.class);
+
+        Bean<Cart> cartBean = getBean(Cart.class);
+        Bean<Preferences> preferencesBean = getBean(Preferences.class);
+
+        SessionContext sender = newSessionContext();
+        Cart cart = sender.get(cartBean, getBeanManager().createCreationalContext(cartBean));
+        Preferences preferences = sender.get(preferencesBean, getBeanManager().createCreationalContext(preferencesBean));
+        Customer customer = new Customer();
+        cart.setCustomer(customer);
+        preferences.setCustomer(customer);
+
+        SessionContext receiver = newSessionContext();
+        Assert.assertEquals(2, replicate(sender, receiver));
+        Assert.assertNotNull(receiver.get(cartBean).getCustomer());
+        Assert.assertSame(receiver.get(cartBean).getCustomer(), receiver.get(preferencesBean).getCustomer());
+    }
+
+    private SessionContext newSessionContext()
+    {
+        SessionContext context = new SessionContext();
+        context.setActive(true);
+        return context;
+    }
+
+    private int replicate(PassivatingContext sender, PassivatingContext receiver) throws IOException, ClassNotFoundException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        int written;
+        try (ObjectOutputStream out = new ObjectOutputStream(baos))
+        {
+            written = sender.writeDelta(out);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())))
+        {
+            receiver.readDelta(in);
+        }
+        return written;
+    }
+
+    @SessionScoped
+    public static class Cart implements Serializable
+    {
+        private int items;
+        private Customer customer;
+
+        public void add(String item)
+        {
+            items++;
+        }
+
+        public int getItems()
+        {
+            return items;
+        }
+
+        public Customer getCustomer()
+        {
+            return customer;
+        }
+
+        public void setCustomer(Customer customer)
+        {
+            this.customer = customer;
+        }
+    }
+
+    @SessionScoped
+    public static class Preferences implements Serializable
+    {
+        private String language;
+        private Customer customer;
+
+        public String getLanguage()
+        {
+            return language;
+        }
+
+        public void setLanguage(String language)
+        {
+            this.language = language;
+        }
+
+        public Customer getCustomer()
+        {
+            return customer;
+        }
+
+        public void setCustomer(Customer customer)
+        {
+            this.customer = customer;
+        }
+    }
+
+    public static class Customer implements Serializable
+    {
+    }
+}
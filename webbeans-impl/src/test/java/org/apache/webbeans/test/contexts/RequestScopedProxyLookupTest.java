@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.AlterableContext;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The RequestScopedBeanInterceptorHandler doesn't cache any instance,
+ * so neither RequestContext#destroy(Contextual) nor the end of the request needs to clean up anything.
+ */
+public class RequestScopedProxyLookupTest extends AbstractUnitTest
+{
+    @Test
+    public void testProxyFollowsDestroyedInstances()
+    {
+        startRequestScopedContainer();
+
+        RequestBean proxy = getInstance(RequestBean.class);
+        Assert.assertTrue(proxy instanceof OwbNormalScopeProxy);
+        Assert.assertTrue(getWebBeansContext().getNormalScopeProxyFactory()
+                .getInstanceProvider(getClass().getClassLoader(), getBean(RequestBean.class)) instanceof RequestScopedBeanInterceptorHandler);
+
+        int id = proxy.getId();
+        Assert.assertEquals(id, proxy.getId());
+
+        ((AlterableContext) getBeanManager().getContext(RequestScoped.class)).destroy(getBean(RequestBean.class));
+        int afterDestroy = proxy.getId();
+        Assert.assertNotEquals(id, afterDestroy);
+
+        restartContext(RequestScoped.class);
+        Assert.assertNotEquals(afterDestroy, proxy.getId());
+    }
+
+    @Test
+    public void testThreadsSeeTheirOwnInstance() throws Exception
+    {
+        startRequestScopedContainer();
+
+        final RequestBean proxy = getInstance(RequestBean.class);
+        int id = proxy.getId();
+
+        final ContextsService contextsService = getWebBeansContext().getContextsService();
+        final AtomicReference<Integer> otherId = new AtomicReference<>();
+        Thread thread = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                contextsService.startContext(RequestScoped.class, null);
+                try
+                {
+                    otherId.set(proxy.getId());
+                }
+                finally
+                {
+                    contextsService.endContext(RequestScoped.class, null);
+                }
+            }
+        };
+        thread.start();
+        thread.join();
+
+        Assert.assertNotNull(otherId.get());
+        Assert.assertNotEquals(id, otherId.get().intValue());
+        Assert.assertEquals(id, proxy.getId());
+    }
+
+    private void startRequestScopedContainer()
+    {
+        startContainer(RequestBean.class);
+
+        // the test configuration maps @RequestScoped to the NormalScopedBeanInterceptorHandler
+        getWebBeansContext().getOpenWebBeansConfiguration().setProperty(
+                OpenWebBeansConfiguration.PROXY_MAPPING_PREFIX + RequestScoped.class.getName(),
+                RequestScopedBeanInterceptorHandler.class.getName());
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private final int id = IDS.incrementAndGet();
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+}
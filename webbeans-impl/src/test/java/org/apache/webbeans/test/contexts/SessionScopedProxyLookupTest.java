@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.AlterableContext;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The SessionScopedBeanInterceptorHandler doesn't cache any instance,
+ * so neither SessionContext#destroy(Contextual) nor the end of the session needs to clean up anything.
+ */
+public class SessionScopedProxyLookupTest extends AbstractUnitTest
+{
+    @Test
+    public void testProxyFollowsDestroyedInstances()
+    {
+        startContainer(SessionBean.class);
+        getWebBeansContext().getOpenWebBeansConfiguration().setProperty(
+                OpenWebBeansConfiguration.PROXY_MAPPING_PREFIX + SessionScoped.class.getName(),
+                SessionScopedBeanInterceptorHandler.class.getName());
+
+        SessionBean proxy = getInstance(SessionBean.class);
+        Assert.assertTrue(getWebBeansContext().getNormalScopeProxyFactory()
+                .getInstanceProvider(getClass().getClassLoader(), getBean(SessionBean.class)) instanceof SessionScopedBeanInterceptorHandler);
+
+        int id = proxy.getId();
+        Assert.assertEquals(id, proxy.getId());
+
+        ((AlterableContext) getBeanManager().getContext(SessionScoped.class)).destroy(getBean(SessionBean.class));
+        int afterDestroy = proxy.getId();
+        Assert.assertNotEquals(id, afterDestroy);
+        Assert.assertEquals(afterDestroy, proxy.getId());
+
+        restartContext(SessionScoped.class);
+        Assert.assertNotEquals(afterDestroy, proxy.getId());
+    }
+
+    @SessionScoped
+    public static class SessionBean implements Serializable
+    {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
+        private final int id = IDS.incrementAndGet();
+
+        public int getId()
+        {
+            return id;
+        }
+    }
+}
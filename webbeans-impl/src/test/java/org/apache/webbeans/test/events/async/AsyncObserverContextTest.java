@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.ObservesAsync;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncObserverContextTest extends AbstractUnitTest
+{
+    @After
+    public void clearConfiguration()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR);
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR_THREADS);
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_REQUEST_CONTEXT);
+    }
+
+    @Test
+    public void testNewRequestContextByDefault() throws Exception
+    {
+        startContainer(RequestState.class, StateObserver.class);
+
+        getInstance(RequestState.class).setValue("firing thread");
+        Observation observation = getBeanManager().getEvent().select(Observation.class)
+                .fireAsync(new Observation()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        Assert.assertNull(observation.value);
+        Assert.assertNotEquals(Thread.currentThread().getName(), observation.threadName);
+    }
+
+    @Test
+    public void testPropagatedRequestContextOnFixedPool() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR, "fixed");
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR_THREADS, "2");
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_REQUEST_CONTEXT, "propagate");
+        startContainer(RequestState.class, StateObserver.class);
+
+        getInstance(RequestState.class).setValue("firing thread");
+        Observation observation = getBeanManager().getEvent().select(Observation.class)
+                .fireAsync(new Observation()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals("firing thread", observation.value);
+        Assert.assertTrue(observation.threadName, observation.threadName.startsWith("OpenWebBeans-async-event-"));
+
+        // without an active request context in the firing thread the observer gets a new one
+        endContext(RequestScoped.class);
+        observation = getBeanManager().getEvent().select(Observation.class)
+                .fireAsync(new Observation()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        Assert.assertNull(observation.value);
+        startContext(RequestScoped.class);
+    }
+
+    @Test
+    public void testEndingThePropagatedRequestContextWaitsForTheObserver() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_REQUEST_CONTEXT, "propagate");
+        startContainer(RequestState.class, StateObserver.class);
+
+        getInstance(RequestState.class).setValue("firing thread");
+        BlockingObservation observation = new BlockingObservation();
+        CompletableFuture<BlockingObservation> future = getBeanManager().getEvent().select(BlockingObservation.class)
+                .fireAsync(observation).toCompletableFuture();
+        Assert.assertTrue(observation.started.await(10, TimeUnit.SECONDS));
+
+        int destroyed = RequestState.DESTROYED.get();
+        endContext(RequestScoped.class);
+        Assert.assertEquals(destroyed, RequestState.DESTROYED.get());
+
+        observation.proceed.countDown();
+        future.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("firing thread", observation.value);
+        Assert.assertEquals(destroyed + 1, RequestState.DESTROYED.get());
+        startContext(RequestScoped.class);
+    }
+
+    public static class Observation
+    {
+        private volatile String value;
+        private volatile String threadName;
+    }
+
+    public static class BlockingObservation
+    {
+        private volatile String value;
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch proceed = new CountDownLatch(1);
+    }
+
+    @RequestScoped
+    public static class RequestState
+    {
+        private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+        private String value;
+
+        @PreDestroy
+        public void destroy()
+        {
+            DESTROYED.incrementAndGet();
+        }
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        public void setValue(String value)
+        {
+            this.value = value;
+        }
+    }
+
+    @ApplicationScoped
+    public static class StateObserver
+    {
+        @Inject
+        private RequestState requestState;
+
+        public void observe(@ObservesAsync Observation observation)
+        {
+            observation.value = requestState.getValue();
+            observation.threadName = Thread.currentThread().getName();
+        }
+
+        public void observe(@ObservesAsync BlockingObservation observation) throws InterruptedException
+        {
+            observation.started.countDown();
+            if (observation.proceed.await(10, TimeUnit.SECONDS))
+            {
+                observation.value = requestState.getValue();
+            }
+        }
+    }
+}
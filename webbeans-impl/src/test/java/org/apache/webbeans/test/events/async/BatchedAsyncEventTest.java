@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.async;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.NotificationOptions;
+import javax.enterprise.event.ObservesAsync;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.event.EventImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchedAsyncEventTest extends AbstractUnitTest
+{
+    @After
+    public void clearConfiguration()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR_THREADS);
+    }
+
+    @Test
+    public void testBatchGetsDeliveredToAllObservers() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR_THREADS, "3");
+        startContainer(ItemObserver.class);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+        {
+            items.add(new Item(i));
+        }
+
+        List<Item> delivered = batchEvent().fireAllAsync(items).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(items, delivered);
+        ItemObserver observer = getInstance(ItemObserver.class);
+        Assert.assertEquals(1000, observer.getCount());
+        Assert.assertEquals(1000, observer.getAuditCount());
+        for (Item item : items)
+        {
+            Assert.assertEquals(2, item.notifications.get());
+        }
+    }
+
+    @Test
+    public void testBatchGetsPartitionedByTheThreadsOfTheExecutor() throws Exception
+    {
+        System.setProperty(OpenWebBeansConfiguration.ASYNC_EVENT_EXECUTOR_THREADS, "3");
+        startContainer(ItemObserver.class);
+
+        AtomicInteger tasks = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>())
+        {
+            @Override
+            public void execute(Runnable command)
+            {
+                tasks.incrementAndGet();
+                super.execute(command);
+            }
+        };
+        try
+        {
+            List<Item> items = new ArrayList<>();
+            for (int i = 0; i < 100; i++)
+            {
+                items.add(new Item(i));
+            }
+
+            batchEvent().fireAllAsync(items, NotificationOptions.ofExecutor(executor)).toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+            Assert.assertEquals(2, tasks.get());
+            Assert.assertEquals(100, getInstance(ItemObserver.class).getCount());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailuresGetCollected() throws Exception
+    {
+        startContainer(ItemObserver.class);
+
+        List<Item> items = Arrays.asList(new Item(1), new Item(-1), new Item(2), new Item(-2));
+        try
+        {
+            batchEvent().fireAllAsync(items).toCompletableFuture().get(10, TimeUnit.SECONDS);
+            Assert.fail("ExecutionException expected");
+        }
+        catch (ExecutionException ee)
+        {
+            Assert.assertTrue(ee.getCause() instanceof CompletionException);
+            Assert.assertEquals(2, ee.getCause().getSuppressed().length);
+        }
+
+        // the failing observer must not stop the other notifications
+        Assert.assertEquals(4, getInstance(ItemObserver.class).getAuditCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMixedEventClassesGetRejected()
+    {
+        startContainer(ItemObserver.class);
+
+        EventImpl<Object> event = (EventImpl<Object>) getBeanManager().getEvent();
+        event.fireAllAsync(Arrays.asList(new Item(1), "no item"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private EventImpl<Item> batchEvent()
+    {
+        return (EventImpl<Item>) getBeanManager().getEvent().select(Item.class);
+    }
+
+    public static class Item
+    {
+        private final int value;
+        private final AtomicInteger notifications = new AtomicInteger();
+
+        public Item(int value)
+        {
+            this.value = value;
+        }
+    }
+
+    @ApplicationScoped
+    public static class ItemObserver
+    {
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger auditCount = new AtomicInteger();
+
+        public void count(@ObservesAsync Item item)
+        {
+            item.notifications.incrementAndGet();
+            if (item.value < 0)
+            {
+                throw new IllegalStateException("negative item " + item.value);
+            }
+            count.incrementAndGet();
+        }
+
+        public void audit(@ObservesAsync Item item)
+        {
+            item.notifications.incrementAndGet();
+            auditCount.incrementAndGet();
+        }
+
+        public int getCount()
+        {
+            return count.get();
+        }
+
+        public int getAuditCount()
+        {
+            return auditCount.get();
+        }
+    }
+}
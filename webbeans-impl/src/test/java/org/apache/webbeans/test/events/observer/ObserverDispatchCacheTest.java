@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Named;
+import javax.inject.Qualifier;
+
+import org.apache.webbeans.annotation.NamedLiteral;
+import org.apache.webbeans.event.NotificationManager;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObserverDispatchCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void testRepeatedFiringKeepsPriorityOrder()
+    {
+        startContainer(OrderedObserver.class, Loud.class);
+
+        OrderedObserver observer = getInstance(OrderedObserver.class);
+        for (int i = 0; i < 3; i++)
+        {
+            observer.getCalls().clear();
+            getBeanManager().fireEvent(new Ping());
+            Assert.assertEquals(Arrays.asList("early", "late"), observer.getCalls());
+
+            observer.getCalls().clear();
+            getBeanManager().fireEvent(new Ping(), new AnnotationLiteral<Loud>() { });
+            Assert.assertEquals(Arrays.asList("early", "loud", "late"), observer.getCalls());
+        }
+    }
+
+    @Test
+    public void testObserverAddedAfterDeployment()
+    {
+        startContainer(OrderedObserver.class, Loud.class);
+
+        OrderedObserver observer = getInstance(OrderedObserver.class);
+        getBeanManager().fireEvent(new Ping());
+        Assert.assertEquals(Arrays.asList("early", "late"), observer.getCalls());
+
+        List<Object> lateObserverEvents = new ArrayList<>();
+        getWebBeansContext().getNotificationManager().addObserver(new PingObserverMethod(lateObserverEvents));
+
+        observer.getCalls().clear();
+        Ping ping = new Ping();
+        getBeanManager().fireEvent(ping);
+        Assert.assertEquals(Arrays.asList("early", "late"), observer.getCalls());
+        Assert.assertEquals(Collections.singletonList(ping), lateObserverEvents);
+    }
+
+    @Test
+    public void testQualifierMembersDontGetCached() throws Exception
+    {
+        startContainer(OrderedObserver.class, Loud.class);
+
+        OrderedObserver observer = getInstance(OrderedObserver.class);
+        NotificationManager notificationManager = getWebBeansContext().getNotificationManager();
+        getBeanManager().fireEvent(new Ping());
+        int cachedTables = getDispatchTables(notificationManager).size();
+
+        for (int i = 0; i < 100; i++)
+        {
+            observer.getCalls().clear();
+            getBeanManager().fireEvent(new Ping(), new NamedLiteral("ping" + i));
+            Assert.assertEquals(i == 7 ? Arrays.asList("early", "named", "late") : Arrays.asList("early", "late"),
+                    observer.getCalls());
+        }
+
+        Assert.assertEquals(cachedTables, getDispatchTables(notificationManager).size());
+    }
+
+    private static Map<?, ?> getDispatchTables(NotificationManager notificationManager) throws Exception
+    {
+        Field dispatchTables = NotificationManager.class.getDeclaredField("dispatchTables");
+        dispatchTables.setAccessible(true);
+        return (Map<?, ?>) dispatchTables.get(notificationManager);
+    }
+
+    public static class Ping
+    {
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Loud
+    {
+    }
+
+    @ApplicationScoped
+    public static class OrderedObserver
+    {
+        private final List<String> calls = new ArrayList<>();
+
+        public void late(@Observes @Priority(2000) Ping ping)
+        {
+            calls.add("late");
+        }
+
+        public void loud(@Observes @Priority(1500) @Loud Ping ping)
+        {
+            calls.add("loud");
+        }
+
+        public void named(@Observes @Priority(1700) @Named("ping7") Ping ping)
+        {
+            calls.add("named");
+        }
+
+        public void early(@Observes @Priority(1000) Ping ping)
+        {
+            calls.add("early");
+        }
+
+        public List<String> getCalls()
+        {
+            return calls;
+        }
+    }
+
+    private static class PingObserverMethod implements ObserverMethod<Ping>
+    {
+        private final List<Object> events;
+
+        private PingObserverMethod(List<Object> events)
+        {
+            this.events = events;
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return ObserverDispatchCacheTest.class;
+        }
+
+        @Override
+        public Type getObservedType()
+        {
+            return Ping.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Reception getReception()
+        {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase()
+        {
+            return TransactionPhase.IN_PROGRESS;
+        }
+
+        @Override
+        public void notify(Ping event)
+        {
+            events.add(event);
+        }
+    }
+}
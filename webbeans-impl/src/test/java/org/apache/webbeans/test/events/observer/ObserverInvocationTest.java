@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.ObserverException;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.EventMetadata;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObserverInvocationTest extends AbstractUnitTest
+{
+    @Test
+    public void testInjectedObserverParameters()
+    {
+        StaticObserver.calls = 0;
+        startContainer(Recorder.class, Greeter.class, StaticObserver.class);
+
+        Recorder recorder = getInstance(Recorder.class);
+        for (int i = 0; i < 3; i++)
+        {
+            getBeanManager().fireEvent(new Greeting("hello" + i));
+        }
+
+        Assert.assertEquals(3, recorder.getGreetings().size());
+        Assert.assertEquals("hello2 from greeter (" + Greeting.class.getName() + ")", recorder.getGreetings().get(2));
+        Assert.assertEquals(3, StaticObserver.calls);
+    }
+
+    @Test
+    public void testPrimitiveEventParameter()
+    {
+        startContainer(Recorder.class, Greeter.class);
+
+        getBeanManager().fireEvent(42);
+        Assert.assertEquals(42, getInstance(Recorder.class).getNumber());
+    }
+
+    @Test
+    public void testCheckedExceptionGetsWrapped()
+    {
+        startContainer(FailingObserver.class);
+
+        try
+        {
+            getBeanManager().fireEvent(new Greeting("fail"));
+            Assert.fail("ObserverException expected");
+        }
+        catch (ObserverException oe)
+        {
+            Assert.assertTrue(oe.getCause().getCause() instanceof IOException);
+        }
+
+        try
+        {
+            getBeanManager().fireEvent(new Greeting("runtime"));
+            Assert.fail("IllegalStateException expected");
+        }
+        catch (IllegalStateException ise)
+        {
+            Assert.assertEquals("runtime", ise.getMessage());
+        }
+    }
+
+    public static class Greeting
+    {
+        private final String text;
+
+        public Greeting(String text)
+        {
+            this.text = text;
+        }
+
+        public String getText()
+        {
+            return text;
+        }
+    }
+
+    @Dependent
+    public static class Greeter
+    {
+        public String greet(String text)
+        {
+            return text + " from greeter";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Recorder
+    {
+        private final List<String> greetings = new ArrayList<>();
+        private int number;
+
+        public void greeting(Greeter greeter, @Observes Greeting greeting, EventMetadata metadata)
+        {
+            greetings.add(greeter.greet(greeting.getText()) + " (" + metadata.getType().getTypeName() + ")");
+        }
+
+        private void number(@Observes int number)
+        {
+            this.number = number;
+        }
+
+        public List<String> getGreetings()
+        {
+            return greetings;
+        }
+
+        public int getNumber()
+        {
+            return number;
+        }
+    }
+
+    @Dependent
+    public static class StaticObserver
+    {
+        private static int calls;
+
+        public static void greeting(@Observes Greeting greeting, Greeter greeter)
+        {
+            if (greeter != null)
+            {
+                calls++;
+            }
+        }
+    }
+
+    @ApplicationScoped
+    public static class FailingObserver
+    {
+        public void fail(@Observes Greeting greeting) throws IOException
+        {
+            if ("runtime".equals(greeting.getText()))
+            {
+                throw new IllegalStateException("runtime");
+            }
+            throw new IOException(greeting.getText());
+        }
+    }
+}
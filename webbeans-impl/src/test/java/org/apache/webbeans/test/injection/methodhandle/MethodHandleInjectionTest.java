@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.methodhandle;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.inject.MemberInvokers;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MethodHandleInjectionTest extends AbstractUnitTest
+{
+    @Before
+    public void enableMethodHandles()
+    {
+        System.setProperty(OpenWebBeansConfiguration.USE_METHOD_HANDLES, "true");
+    }
+
+    @After
+    public void clearProperty()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.USE_METHOD_HANDLES);
+    }
+
+    @Test
+    public void testInjection()
+    {
+        startContainer(Service.class, Producers.class, Client.class);
+
+        Client client = getInstance(Client.class);
+        Assert.assertNotNull(client.getConstructorService());
+        Assert.assertNotNull(client.getFieldService());
+        Assert.assertEquals(42, client.getAnswer());
+        Assert.assertEquals("static", client.getName());
+        Assert.assertEquals("instance", client.getOther());
+    }
+
+    @Test
+    public void testExceptionGetsUnwrapped()
+    {
+        startContainer(Service.class, Producers.class, FailingClient.class);
+
+        try
+        {
+            getInstance(FailingClient.class);
+            Assert.fail("IllegalStateException expected");
+        }
+        catch (IllegalStateException ise)
+        {
+            Assert.assertEquals("failing constructor", ise.getMessage());
+        }
+    }
+
+    @Test
+    public void testArgumentErrorsDontGetWrapped() throws Exception
+    {
+        startContainer(Service.class, Producers.class, Client.class);
+
+        MemberInvokers invokers = getWebBeansContext().getMemberInvokers();
+        Method method = Calculator.class.getMethod("twice", long.class);
+        Calculator calculator = new Calculator();
+
+        // widening like with reflection
+        Assert.assertEquals(42L, invokers.invoke(method, calculator, new Object[] { 21 }));
+
+        assertIllegalArgument(invokers, method, calculator, new Object[] { null });
+        assertIllegalArgument(invokers, method, calculator, new Object[] { "21" });
+        assertIllegalArgument(invokers, method, calculator, new Object[] { 21.0 });
+        assertIllegalArgument(invokers, method, calculator, new Object[0]);
+        assertIllegalArgument(invokers, method, new Service(), new Object[] { 21L });
+
+        try
+        {
+            invokers.invoke(method, calculator, new Object[] { -1L });
+            Assert.fail("InvocationTargetException expected");
+        }
+        catch (InvocationTargetException ite)
+        {
+            Assert.assertEquals("negative", ite.getCause().getMessage());
+        }
+    }
+
+    private void assertIllegalArgument(MemberInvokers invokers, Method method, Object instance, Object[] parameters)
+            throws ReflectiveOperationException
+    {
+        try
+        {
+            invokers.invoke(method, instance, parameters);
+            Assert.fail("IllegalArgumentException expected");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // expected, as with reflection
+        }
+    }
+
+    public static class Calculator
+    {
+        public long twice(long value)
+        {
+            if (value < 0)
+            {
+                throw new IllegalArgumentException("negative");
+            }
+            return value * 2;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+    }
+
+    @Dependent
+    public static class Producers
+    {
+        @Produces
+        public static int answer()
+        {
+            return 42;
+        }
+
+        @Produces
+        @Named("name")
+        public static String name()
+        {
+            return "static";
+        }
+
+        @Produces
+        @Named("other")
+        public String other(Service service)
+        {
+            return service != null ? "instance" : null;
+        }
+    }
+
+    @Dependent
+    public static class Client
+    {
+        private final Service constructorService;
+
+        @Inject
+        private Service fieldService;
+
+        private int answer;
+        private String name;
+        private String other;
+
+        @Inject
+        public Client(Service constructorService)
+        {
+            this.constructorService = constructorService;
+        }
+
+        @Inject
+        private void init(int answer, @Named("name") String name, @Named("other") String other)
+        {
+            this.answer = answer;
+            this.name = name;
+            this.other = other;
+        }
+
+        public Service getConstructorService()
+        {
+            return constructorService;
+        }
+
+        public Service getFieldService()
+        {
+            return fieldService;
+        }
+
+        public int getAnswer()
+        {
+            return answer;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public String getOther()
+        {
+            return other;
+        }
+    }
+
+    @Dependent
+    public static class FailingClient
+    {
+        @Inject
+        public FailingClient(Service service)
+        {
+            throw new IllegalStateException("failing constructor");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.instance;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Vetoed;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InstanceResolutionCachingTest extends AbstractUnitTest
+{
+    @Test
+    public void testRepeatedLookups()
+    {
+        startContainer(Handler.class, DefaultHandler.class, HandlerHolder.class);
+
+        Instance<Handler> handlers = getInstance(HandlerHolder.class).getHandlers();
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertFalse(handlers.isAmbiguous());
+            Assert.assertFalse(handlers.isUnsatisfied());
+            Assert.assertEquals("default", handlers.get().handle());
+        }
+    }
+
+    @Test
+    public void testCacheGetsInvalidatedIfBeansChange()
+    {
+        startContainer(Handler.class, DefaultHandler.class, HandlerHolder.class);
+
+        Instance<Handler> handlers = getInstance(HandlerHolder.class).getHandlers();
+        Assert.assertFalse(handlers.isAmbiguous());
+        Assert.assertEquals("default", handlers.get().handle());
+
+        BeanManager bm = getBeanManager();
+        AnnotatedType<OtherHandler> annotatedType = bm.createAnnotatedType(OtherHandler.class);
+        Bean<OtherHandler> otherBean = bm.createBean(bm.createBeanAttributes(annotatedType), OtherHandler.class,
+                                                     bm.getInjectionTargetFactory(annotatedType));
+        getWebBeansContext().getBeanManagerImpl().addBean(otherBean);
+
+        Assert.assertTrue(handlers.isAmbiguous());
+    }
+
+    public interface Handler
+    {
+        String handle();
+    }
+
+    @Dependent
+    public static class DefaultHandler implements Handler
+    {
+        @Override
+        public String handle()
+        {
+            return "default";
+        }
+    }
+
+    @Vetoed
+    public static class OtherHandler implements Handler
+    {
+        @Override
+        public String handle()
+        {
+            return "other";
+        }
+    }
+
+    @ApplicationScoped
+    public static class HandlerHolder
+    {
+        @Inject
+        private Instance<Handler> handlers;
+
+        public Instance<Handler> getHandlers()
+        {
+            return handlers;
+        }
+    }
+}
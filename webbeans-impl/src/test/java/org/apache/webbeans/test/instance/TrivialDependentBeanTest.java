@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.instance;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TrivialDependentBeanTest extends AbstractUnitTest
+{
+    @Before
+    public void enableTrivialDependentBeans()
+    {
+        System.setProperty(OpenWebBeansConfiguration.TRIVIAL_DEPENDENT_BEANS, "true");
+    }
+
+    @After
+    public void clearProperty()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.TRIVIAL_DEPENDENT_BEANS);
+    }
+
+    @Test
+    public void testClassification()
+    {
+        startContainer(Counter.class, Command.class, Holder.class, DestroyedCommand.class, DependentCommand.class, InjectionPointCommand.class);
+
+        Assert.assertTrue(isTrivial(Command.class));
+        Assert.assertFalse(isTrivial(Counter.class));
+        Assert.assertFalse(isTrivial(DestroyedCommand.class));
+        Assert.assertFalse(isTrivial(DependentCommand.class));
+        Assert.assertFalse(isTrivial(InjectionPointCommand.class));
+    }
+
+    @Test
+    public void testTrivialInstances()
+    {
+        startContainer(Counter.class, Command.class, Holder.class);
+
+        Instance<Command> commands = getInstance(Holder.class).getCommands();
+        Command first = commands.get();
+        Command second = commands.get();
+        Assert.assertNotSame(first, second);
+
+        Assert.assertEquals(1, first.execute());
+        Assert.assertEquals(2, second.execute());
+        Assert.assertSame(first.getCounter(), second.getCounter());
+        Assert.assertSame(first.getConstructorCounter(), first.getCounter());
+
+        // nothing to destroy, but still allowed
+        commands.destroy(first);
+        Assert.assertEquals(3, getInstance(Command.class).execute());
+    }
+
+    @Test
+    public void testNonTrivialBeansGetDestroyed()
+    {
+        DestroyedCommand.destroyed = 0;
+        startContainer(Counter.class, Command.class, Holder.class, DestroyedCommand.class);
+
+        Instance<DestroyedCommand> commands = getInstance(Holder.class).getDestroyedCommands();
+        commands.destroy(commands.get());
+        Assert.assertEquals(1, DestroyedCommand.destroyed);
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.TRIVIAL_DEPENDENT_BEANS);
+        startContainer(Counter.class, Command.class, Holder.class);
+
+        Assert.assertFalse(isTrivial(Command.class));
+        Assert.assertEquals(1, getInstance(Holder.class).getCommands().get().execute());
+    }
+
+    private boolean isTrivial(Class<?> beanClass)
+    {
+        return ((ManagedBean<?>) getBean(beanClass)).isTrivial();
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        private int count;
+
+        public int increment()
+        {
+            return ++count;
+        }
+    }
+
+    @Dependent
+    public static class Command
+    {
+        @Inject
+        private Counter counter;
+
+        private final Counter constructorCounter;
+
+        public Command()
+        {
+            this(null);
+        }
+
+        @Inject
+        public Command(Counter constructorCounter)
+        {
+            this.constructorCounter = constructorCounter;
+        }
+
+        public int execute()
+        {
+            return counter.increment();
+        }
+
+        public Counter getCounter()
+        {
+            return counter;
+        }
+
+        public Counter getConstructorCounter()
+        {
+            return constructorCounter;
+        }
+    }
+
+    @Dependent
+    public static class DestroyedCommand
+    {
+        private static int destroyed;
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed++;
+        }
+    }
+
+    @Dependent
+    public static class DependentCommand
+    {
+        @Inject
+        private Command command;
+    }
+
+    @Dependent
+    public static class InjectionPointCommand
+    {
+        @Inject
+        private InjectionPoint injectionPoint;
+    }
+
+    @ApplicationScoped
+    public static class Holder
+    {
+        @Inject
+        private Instance<Command> commands;
+
+        @Inject
+        private Instance<DestroyedCommand> destroyedCommands;
+
+        public Instance<Command> getCommands()
+        {
+            return commands;
+        }
+
+        public Instance<DestroyedCommand> getDestroyedCommands()
+        {
+            return destroyedCommands;
+        }
+    }
+}
@@ -35,6 +35,7 @@ import javax.enterprise.inject.spi.Bean;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -100,6 +101,44 @@ public class InterceptorPerformanceTest extends AbstractUnitTest
 
     }
 
+    @Test
+    public void testAroundInvokeChainPerformance()
+    {
+        Collection<String> beanXmls = new ArrayList<String>();
+        beanXmls.add(getXmlPath(PACKAGE_NAME, "DependingInterceptorTest"));
+
+        Collection<Class<?>> beanClasses = new ArrayList<Class<?>>();
+        beanClasses.add(TransactionInterceptor.class);
+        beanClasses.add(ApplicationScopedBean.class);
+        beanClasses.add(DependentScopedBean.class);
+
+        startContainer(beanClasses, beanXmls);
+
+        ApplicationScopedBean bean = getInstance(ApplicationScopedBean.class);
+
+        // warm up
+        for (int i = 0; i < ITERATIONS * 1000; i++)
+        {
+            bean.getJ();
+        }
+
+        TransactionInterceptor.count = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS * 1000; i++)
+        {
+            bean.getJ();
+        }
+
+        long end = System.nanoTime();
+        Assert.assertEquals(ITERATIONS * 1000, TransactionInterceptor.count);
+
+        logger.log(Level.INFO, "Invoking an intercepted method {0} times took {1} ms",
+                WebBeansLoggerFacade.args(ITERATIONS * 1000, TimeUnit.NANOSECONDS.toMillis(end - start)));
+
+        shutDownContainer();
+    }
+
     public class CalculationRunner extends Thread
     {
         private String threadName;
@@ -37,6 +37,7 @@ import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.intercept.webbeans.TransactionalInterceptor;
 import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
+import org.apache.webbeans.proxy.InterceptedMethodInvoker;
 import org.apache.webbeans.proxy.InterceptorDecoratorProxyFactory;
 
 import org.apache.webbeans.proxy.InterceptorHandler;
@@ -96,6 +97,78 @@ public class InterceptorDecoratorProxyFactoryTest extends AbstractUnitTest
         Assert.assertEquals(5, testInvocationHandler.invokedMethodNames.size());
     }
 
+    @Test
+    public void testDirectMethodInvoker() throws Exception
+    {
+        InterceptorDecoratorProxyFactory pf = new InterceptorDecoratorProxyFactory(new WebBeansContext());
+
+        // the bean's own ClassLoader, a DefiningClassService mostly can't define classes in a foreign one on Java 9+
+        ClassLoader classLoader = ClassInterceptedClass.class.getClassLoader();
+
+        List<Method> methods = ClassUtil.getNonPrivateMethods(ClassInterceptedClass.class, true);
+        Method[] interceptedMethods = methods.toArray(new Method[methods.size()]);
+
+        Class<ClassInterceptedClass> proxyClass = pf.createProxyClass(new DummyBean(), classLoader, ClassInterceptedClass.class, interceptedMethods, null);
+
+        InterceptedMethodInvoker invoker = pf.getMethodInvoker(proxyClass);
+        Assert.assertNotNull(invoker);
+
+        ClassInterceptedClass internalInstance = new ClassInterceptedClass();
+        internalInstance.init();
+
+        int setter = getMethodIndex(invoker, interceptedMethods, "setMeaningOfLife");
+        Assert.assertNull(invoker.invoke(setter, internalInstance, new Object[]{ 21 }));
+        Assert.assertEquals(21, internalInstance.getMeaningOfLife());
+
+        // like Method#invoke
+        try
+        {
+            invoker.invoke(setter, internalInstance, new Object[]{ null });
+            Assert.fail("IllegalArgumentException expected");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            // all fine
+        }
+
+        int getter = getMethodIndex(invoker, interceptedMethods, "getMeaningOfLife");
+        Assert.assertEquals(21, invoker.invoke(getter, internalInstance, new Object[0]));
+
+        int self = getMethodIndex(invoker, interceptedMethods, "getSelf");
+        Assert.assertSame(internalInstance, invoker.invoke(self, internalInstance, new Object[0]));
+
+        int blowup = getMethodIndex(invoker, interceptedMethods, "doThaBlowup");
+        try
+        {
+            invoker.invoke(blowup, internalInstance, new Object[0]);
+            Assert.fail("NumberFormatException expected");
+        }
+        catch (NumberFormatException nfe)
+        {
+            Assert.assertEquals("should fit", nfe.getMessage());
+        }
+
+        // the proxy lives in the same runtime package, so it can invoke the protected method directly
+        int protectedMethod = getMethodIndex(invoker, interceptedMethods, "protectedMethod");
+        Assert.assertTrue(protectedMethod >= 0);
+        Assert.assertEquals(21, invoker.invoke(protectedMethod, internalInstance, new Object[0]));
+
+        // equal Method instances, e.g. after deserialisation, get resolved as well
+        Assert.assertEquals(self, invoker.getMethodIndex(ClassInterceptedClass.class.getMethod("getSelf")));
+    }
+
+    private int getMethodIndex(InterceptedMethodInvoker invoker, Method[] interceptedMethods, String name)
+    {
+        for (Method method : interceptedMethods)
+        {
+            if (method.getName().equals(name))
+            {
+                return invoker.getMethodIndex(method);
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
     @Test
     public void testGenericProxyGeneration()
     {
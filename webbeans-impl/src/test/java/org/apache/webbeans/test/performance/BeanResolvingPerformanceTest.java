@@ -20,7 +20,12 @@ package org.apache.webbeans.test.performance;
 
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Qualifier;
 
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
@@ -70,10 +75,66 @@ public class BeanResolvingPerformanceTest extends AbstractUnitTest
         bm.getBeans(BeanWithDefaultQualifier.class);
     }
 
+    /**
+     * Resolving with multiple qualifiers used to sort the qualifiers and compare their
+     * members for each lookup. Repeated lookups with the same qualifier instances
+     * now get answered by the identity based qualifier cache.
+     * 1000000 iterations started with 791 ms, with the qualifier cache 445 ms
+     */
+    @Test
+    public void testQualifiedBeanResolverPerformance()
+    {
+        startContainer(BeanWithQualifiers.class);
+        BeanManager bm = getBeanManager();
+
+        Annotation[] qualifiers = new Annotation[]
+            {
+                new AnnotationLiteral<Fast>()
+                {
+                },
+                new AnnotationLiteral<Cheap>()
+                {
+                }
+            };
+
+        for (int i= 0; i < WARMUP_ITERATIONS; i++)
+        {
+            bm.getBeans(BeanWithQualifiers.class, qualifiers);
+        }
+
+        long start = System.nanoTime();
+        for (int i= 0; i < BENCHMARK_ITERATIONS; i++)
+        {
+            bm.getBeans(BeanWithQualifiers.class, qualifiers);
+        }
+        long end = System.nanoTime();
+        logger.info("Resolving a qualified bean " + BENCHMARK_ITERATIONS + " times took ms: " + TimeUnit.NANOSECONDS.toMillis(end - start));
+    }
+
 
     @RequestScoped
     public static class BeanWithDefaultQualifier
     {
         // no content needed
     }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Fast
+    {
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Cheap
+    {
+    }
+
+    @Fast
+    @Cheap
+    @RequestScoped
+    public static class BeanWithQualifiers
+    {
+        // no content needed
+    }
 }
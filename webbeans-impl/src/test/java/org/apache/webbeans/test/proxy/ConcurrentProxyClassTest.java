@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the concurrent creation of normal scope proxy classes.
+ */
+public class ConcurrentProxyClassTest extends AbstractUnitTest
+{
+    private static final int THREADS = 8;
+
+    @After
+    public void clearProperty()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.PROXY_PRECREATION_PARALLELISM);
+    }
+
+    @Test
+    public void testSameBeanGetsOneProxyClass() throws Exception
+    {
+        startContainer(Counter.class);
+
+        NormalScopeProxyFactory factory = getWebBeansContext().getNormalScopeProxyFactory();
+        Bean<Counter> bean = getBean(Counter.class);
+
+        Set<Class<?>> proxyClasses = runConcurrently(() -> factory.createProxyClass(bean));
+
+        Assert.assertEquals(1, proxyClasses.size());
+        Assert.assertSame(proxyClasses.iterator().next(), getInstance(Counter.class).getClass());
+    }
+
+    @Test
+    public void testConcurrentProxyClassesGetUniqueNames() throws Exception
+    {
+        startContainer(Counter.class);
+
+        NormalScopeProxyFactory factory = getWebBeansContext().getNormalScopeProxyFactory();
+
+        // the bean's own ClassLoader, a DefiningClassService mostly can't define classes in a foreign one on Java 9+
+        ClassLoader classLoader = Counter.class.getClassLoader();
+
+        Set<Class<?>> proxyClasses = runConcurrently(() -> factory.createProxyClass(classLoader, Counter.class));
+
+        Set<String> names = new HashSet<>();
+        for (Class<?> proxyClass : proxyClasses)
+        {
+            names.add(proxyClass.getName());
+        }
+        Assert.assertEquals(THREADS, names.size());
+    }
+
+    @Test
+    public void testProxyClassPrecreation()
+    {
+        System.setProperty(OpenWebBeansConfiguration.PROXY_PRECREATION_PARALLELISM, "4");
+        startContainer(Counter.class, RequestCounter.class);
+
+        NormalScopeProxyFactory factory = getWebBeansContext().getNormalScopeProxyFactory();
+        Assert.assertSame(factory.createProxyClass(getBean(Counter.class)), getInstance(Counter.class).getClass());
+        Assert.assertSame(factory.createProxyClass(getBean(RequestCounter.class)), getInstance(RequestCounter.class).getClass());
+
+        Assert.assertEquals(1, getInstance(Counter.class).increment());
+        Assert.assertEquals(2, getInstance(Counter.class).increment());
+    }
+
+    private Set<Class<?>> runConcurrently(Callable<Class<?>> task) throws Exception
+    {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            List<Future<Class<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    barrier.await();
+                    return task.call();
+                }));
+            }
+
+            Set<Class<?>> proxyClasses = new HashSet<>();
+            for (Future<Class<?>> future : futures)
+            {
+                proxyClasses.add(future.get());
+            }
+            return proxyClasses;
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        private int count;
+
+        public int increment()
+        {
+            return ++count;
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int count;
+
+        public int increment()
+        {
+            return ++count;
+        }
+    }
+}
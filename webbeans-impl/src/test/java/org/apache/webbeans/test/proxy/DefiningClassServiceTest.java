@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.corespi.se.MethodHandlesDefiningClassService;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.spi.DefiningClassService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test the definition of proxy classes via a {@link DefiningClassService}.
+ */
+public class DefiningClassServiceTest extends AbstractUnitTest
+{
+    @After
+    public void clearDefined()
+    {
+        RecordingDefiningClassService.DEFINED.clear();
+    }
+
+    @Test
+    public void testConfiguredServiceDefinesProxyClass()
+    {
+        addConfiguration(DefiningClassService.class.getName(), RecordingDefiningClassService.class.getName());
+        startContainer(Greeter.class);
+
+        Greeter greeter = getInstance(Greeter.class);
+        Assert.assertEquals("hello", greeter.greet());
+        Assert.assertEquals(Greeter.class.getClassLoader(), greeter.getClass().getClassLoader());
+        Assert.assertTrue(RecordingDefiningClassService.DEFINED.contains(greeter.getClass().getName()));
+    }
+
+    @Test
+    public void testMethodHandlesDefiningClassService()
+    {
+        startContainer(Greeter.class);
+
+        NormalScopeProxyFactory factory = getWebBeansContext().getNormalScopeProxyFactory();
+        String proxyClassName = factory.getPregeneratedProxyClassName(Greeter.class);
+        byte[] bytecode = factory.generatePregeneratedProxyClass(Greeter.class.getClassLoader(), Greeter.class);
+
+        MethodHandlesDefiningClassService service = new MethodHandlesDefiningClassService();
+
+        // a proxy class in another ClassLoader gets defined the default way
+        Assert.assertNull(service.defineAndLoad(new ClassLoader(Greeter.class.getClassLoader()) {}, proxyClassName, bytecode, Greeter.class));
+
+        Class<Greeter> proxyClass = service.defineAndLoad(Greeter.class.getClassLoader(), proxyClassName, bytecode, Greeter.class);
+        if (!hasLookupDefineClass())
+        {
+            Assert.assertNull(proxyClass);
+            return;
+        }
+
+        Assert.assertEquals(proxyClassName, proxyClass.getName());
+        Assert.assertSame(Greeter.class.getClassLoader(), proxyClass.getClassLoader());
+
+        Greeter greeter = new Greeter();
+        Assert.assertEquals("hello", factory.createProxyInstance(proxyClass, () -> greeter).greet());
+    }
+
+    private static boolean hasLookupDefineClass()
+    {
+        try
+        {
+            MethodHandles.Lookup.class.getMethod("defineClass", byte[].class);
+            return true;
+        }
+        catch (NoSuchMethodException e)
+        {
+            // Java 8
+            return false;
+        }
+    }
+
+    public static class RecordingDefiningClassService extends MethodHandlesDefiningClassService
+    {
+        private static final List<String> DEFINED = new ArrayList<>();
+
+        @Override
+        public <T> Class<T> defineAndLoad(ClassLoader classLoader, String name, byte[] bytecode, Class<?> proxiedClass)
+        {
+            DEFINED.add(name);
+            return super.defineAndLoad(classLoader, name, bytecode, proxiedClass);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Greeter
+    {
+        public String greet()
+        {
+            return "hello";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.ProxyGenerationException;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Test the loading of normal scope proxy classes which got generated at build time.
+ */
+public class PregeneratedProxyTest extends AbstractUnitTest
+{
+    @After
+    public void clearProperty()
+    {
+        System.clearProperty(OpenWebBeansConfiguration.USE_PREGENERATED_PROXIES);
+    }
+
+    @Test
+    public void testPregeneratedProxyGetsLoaded()
+    {
+        System.setProperty(OpenWebBeansConfiguration.USE_PREGENERATED_PROXIES, "true");
+        startContainer(Greeter.class);
+
+        NormalScopeProxyFactory factory = getWebBeansContext().getNormalScopeProxyFactory();
+        String proxyClassName = factory.getPregeneratedProxyClassName(Greeter.class);
+        Assert.assertEquals(proxyClassName, factory.getPregeneratedProxyClassName(Greeter.class));
+
+        PregeneratedClassLoader classLoader = new PregeneratedClassLoader(getClass().getClassLoader(), proxyClassName,
+                factory.generatePregeneratedProxyClass(getClass().getClassLoader(), Greeter.class));
+
+        Class<Greeter> proxyClass = factory.createProxyClass(classLoader, Greeter.class);
+        Assert.assertEquals(proxyClassName, proxyClass.getName());
+        Assert.assertSame(classLoader, proxyClass.getClassLoader());
+
+        Greeter greeter = new Greeter();
+        Greeter proxy = factory.createProxyInstance(proxyClass, () -> greeter);
+        Assert.assertEquals("hello", proxy.greet());
+        Assert.assertEquals("protected hello", proxy.protectedGreet());
+
+        // nothing got pregenerated for this class. It gets defined in its own ClassLoader as a
+        // DefiningClassService mostly can't define classes in a foreign one on Java 9+
+        Class<Farewell> farewellProxyClass = factory.createProxyClass(Farewell.class.getClassLoader(), Farewell.class);
+        Assert.assertNotEquals(factory.getPregeneratedProxyClassName(Farewell.class), farewellProxyClass.getName());
+    }
+
+    @Test
+    public void testPregeneratedProxyGetsIgnoredByDefault()
+    {
+        startContainer(Greeter.class);
+
+        NormalScopeProxyFactory factory = getWebBeansContext().getNormalScopeProxyFactory();
+        String proxyClassName = factory.getPregeneratedProxyClassName(Greeter.class);
+        PregeneratedClassLoader classLoader = new PregeneratedClassLoader(getClass().getClassLoader(), proxyClassName,
+                factory.generatePregeneratedProxyClass(getClass().getClassLoader(), Greeter.class));
+
+        Class<Greeter> proxyClass;
+        try
+        {
+            proxyClass = factory.createProxyClass(classLoader, Greeter.class);
+        }
+        catch (ProxyGenerationException e)
+        {
+            // the runtime proxy has to go to the test ClassLoader, which only works where
+            // ClassLoader#defineClass is accessible
+            Assume.assumeNoException(e);
+            return;
+        }
+        Assert.assertNotEquals(proxyClassName, proxyClass.getName());
+    }
+
+    private static class PregeneratedClassLoader extends ClassLoader
+    {
+        private final String name;
+        private final byte[] bytes;
+
+        private PregeneratedClassLoader(ClassLoader parent, String name, byte[] bytes)
+        {
+            super(parent);
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+        @Override
+        protected Class<?> findClass(String className) throws ClassNotFoundException
+        {
+            if (name.equals(className))
+            {
+                return defineClass(className, bytes, 0, bytes.length);
+            }
+            return super.findClass(className);
+        }
+    }
+
+    @ApplicationScoped
+    public static class Greeter
+    {
+        public String greet()
+        {
+            return "hello";
+        }
+
+        protected String protectedGreet()
+        {
+            return "protected " + greet();
+        }
+    }
+
+    @ApplicationScoped
+    public static class Farewell
+    {
+        public String bye()
+        {
+            return "bye";
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Produces;
+import javax.inject.Named;
+
+import org.apache.webbeans.annotation.NamedLiteral;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test that beans with the same proxied type share one normal scope proxy class.
+ */
+public class SharedProxyClassTest extends AbstractUnitTest
+{
+    @Test
+    public void testProducersShareProxyClass()
+    {
+        startContainer(GreetingProducer.class);
+
+        NormalScopeProxyFactory factory = getWebBeansContext().getNormalScopeProxyFactory();
+        long classCount = factory.getGeneratedProxyClassCount();
+        long classBytes = factory.getGeneratedProxyClassBytes();
+
+        Greeting hello = getInstance(Greeting.class, new NamedLiteral("hello"));
+        Greeting bye = getInstance(Greeting.class, new NamedLiteral("bye"));
+
+        Assert.assertSame(hello.getClass(), bye.getClass());
+        Assert.assertEquals("hello", hello.getText());
+        Assert.assertEquals("bye", bye.getText());
+
+        Assert.assertEquals(classCount + 1, factory.getGeneratedProxyClassCount());
+        Assert.assertTrue(factory.getGeneratedProxyClassBytes() > classBytes);
+    }
+
+    @Dependent
+    public static class GreetingProducer
+    {
+        @Produces
+        @ApplicationScoped
+        @Named("hello")
+        public Greeting hello()
+        {
+            return new Greeting("hello");
+        }
+
+        @Produces
+        @ApplicationScoped
+        @Named("bye")
+        public Greeting bye()
+        {
+            return new Greeting("bye");
+        }
+    }
+
+    public static class Greeting
+    {
+        private String text;
+
+        protected Greeting()
+        {
+            // needed for the proxy
+        }
+
+        public Greeting(String text)
+        {
+            this.text = text;
+        }
+
+        public String getText()
+        {
+            return text;
+        }
+    }
+}
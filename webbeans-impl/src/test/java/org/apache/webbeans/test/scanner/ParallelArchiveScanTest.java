@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.scanner;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.xml.DefaultBeanArchiveService;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelArchiveScanTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testParallelScanFindsTheSameClasses() throws Exception
+    {
+        Map<String, URL> urls = new LinkedHashMap<>();
+        addArchive(urls, "first", FirstBean.class, OtherFirstBean.class);
+        addArchive(urls, "second", SecondBean.class);
+        addArchive(urls, "third", ThirdBean.class);
+
+        BeanArchiveService beanArchiveService = new DefaultBeanArchiveService();
+        for (URL url : urls.values())
+        {
+            beanArchiveService.getBeanArchiveInformation(new URL(url, "META-INF/beans.xml"));
+        }
+
+        CdiArchive sequential = new CdiArchive(beanArchiveService, getClass().getClassLoader(), urls, null, null);
+        OwbAnnotationFinder sequentialFinder = new OwbAnnotationFinder(sequential);
+
+        // less threads than archives, the last archive only gets read once the first one got parsed
+        ForkJoinPool pool = new ForkJoinPool(2);
+        CdiArchive parallel;
+        OwbAnnotationFinder parallelFinder;
+        try
+        {
+            parallel = new CdiArchive(beanArchiveService, getClass().getClassLoader(), urls, null, null, pool);
+            parallelFinder = new OwbAnnotationFinder(parallel);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        for (String url : urls.keySet())
+        {
+            CdiArchive.FoundClasses sequentialClasses = sequential.classesByUrl().get(urls.get(url).toExternalForm());
+            CdiArchive.FoundClasses parallelClasses = parallel.classesByUrl().get(urls.get(url).toExternalForm());
+
+            Assert.assertEquals(-1, sequentialClasses.getScanDuration());
+            Assert.assertTrue(parallelClasses.getScanDuration() >= 0);
+            Assert.assertEquals(sorted(sequentialClasses.getClassNames()), sorted(parallelClasses.getClassNames()));
+        }
+        Assert.assertEquals(2, parallel.classesByUrl().get(urls.get("first").toExternalForm()).getClassNames().size());
+
+        Assert.assertEquals(sorted(sequentialFinder.getAnnotatedClassNames()), sorted(parallelFinder.getAnnotatedClassNames()));
+        Assert.assertEquals(Collections.singletonList(SecondBean.class), parallelFinder.findAnnotatedClasses(RequestScoped.class));
+        Assert.assertEquals(2, parallelFinder.findAnnotatedClasses(ApplicationScoped.class).size());
+        Assert.assertEquals(Collections.singletonList(ThirdBean.class), parallelFinder.findAnnotatedClasses(Dependent.class));
+    }
+
+    private void addArchive(Map<String, URL> urls, String name, Class<?>... classes) throws Exception
+    {
+        File root = tempFolder.newFolder(name);
+        File beansXml = new File(root, "META-INF/beans.xml");
+        Assert.assertTrue(beansXml.getParentFile().mkdirs());
+        Assert.assertTrue(beansXml.createNewFile());
+
+        for (Class<?> clazz : classes)
+        {
+            String resource = clazz.getName().replace('.', '/') + ".class";
+            File classFile = new File(root, resource);
+            classFile.getParentFile().mkdirs();
+            try (InputStream in = clazz.getClassLoader().getResourceAsStream(resource))
+            {
+                Files.copy(in, classFile.toPath());
+            }
+        }
+
+        urls.put(name, root.toURI().toURL());
+    }
+
+    private static List<String> sorted(Iterable<String> names)
+    {
+        List<String> list = new ArrayList<>();
+        for (String name : names)
+        {
+            list.add(name);
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+    @ApplicationScoped
+    public static class FirstBean
+    {
+    }
+
+    @ApplicationScoped
+    public static class OtherFirstBean
+    {
+    }
+
+    @RequestScoped
+    public static class SecondBean
+    {
+    }
+
+    @Dependent
+    public static class ThirdBean
+    {
+    }
+}
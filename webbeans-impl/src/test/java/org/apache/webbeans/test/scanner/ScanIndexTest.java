@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.scanner;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.corespi.scanner.AbstractMetaDataDiscovery;
+import org.apache.webbeans.spi.BeanArchiveService;
+import org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScanIndexTest extends AbstractUnitTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testUnchangedArchivesGetTakenFromTheIndex() throws Exception
+    {
+        startContainer();
+        File indexFile = new File(tempFolder.getRoot(), "index/owb-scan.idx");
+        getWebBeansContext().getOpenWebBeansConfiguration().setProperty(OpenWebBeansConfiguration.SCAN_INDEX_FILE, indexFile.getPath());
+
+        File explicitRoot = tempFolder.newFolder("explicit");
+        File beansXml = new File(explicitRoot, "META-INF/beans.xml");
+        Assert.assertTrue(beansXml.getParentFile().mkdirs());
+        Files.write(beansXml.toPath(), "<beans bean-discovery-mode=\"all\"/>".getBytes("UTF-8"));
+        copyClasses(explicitRoot, ExplicitBean.class, PlainClass.class);
+
+        File implicitRoot = tempFolder.newFolder("implicit");
+        copyClasses(implicitRoot, ScopedBean.class, PlainClass.class);
+
+        Map<URL, URL> archives = new LinkedHashMap<>();
+        archives.put(beansXml.toURI().toURL(), explicitRoot.toURI().toURL());
+        archives.put(implicitRoot.toURI().toURL(), implicitRoot.toURI().toURL());
+
+        IndexedScanner firstStart = new IndexedScanner(archives);
+        Set<Class<?>> firstClasses = firstStart.scanBeanClasses();
+        Assert.assertEquals(2, firstStart.getScannedUrls().size());
+        Assert.assertTrue(indexFile.isFile());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(ExplicitBean.class, PlainClass.class, ScopedBean.class)), firstClasses);
+
+        BeanArchiveService beanArchiveService = getWebBeansContext().getBeanArchiveService();
+        BeanArchiveService.BeanArchiveInformation parsedInfo = beanArchiveService.getBeanArchiveInformation(beansXml.toURI().toURL());
+
+        IndexedScanner secondStart = new IndexedScanner(archives);
+        Assert.assertEquals(firstClasses, secondStart.scanBeanClasses());
+        Assert.assertTrue(secondStart.getScannedUrls().isEmpty());
+
+        BeanArchiveService.BeanArchiveInformation indexedInfo = beanArchiveService.getBeanArchiveInformation(beansXml.toURI().toURL());
+        Assert.assertNotSame(parsedInfo, indexedInfo);
+        Assert.assertEquals(BeanDiscoveryMode.ALL, indexedInfo.getBeanDiscoveryMode());
+
+        copyClasses(implicitRoot, OtherScopedBean.class);
+        IndexedScanner thirdStart = new IndexedScanner(archives);
+        Set<Class<?>> thirdClasses = thirdStart.scanBeanClasses();
+        Assert.assertEquals(Collections.singleton(implicitRoot.toURI().toURL().toExternalForm()), thirdStart.getScannedUrls());
+        Assert.assertEquals(new HashSet<>(Arrays.asList(ExplicitBean.class, PlainClass.class, ScopedBean.class, OtherScopedBean.class)),
+                            thirdClasses);
+    }
+
+    @Test
+    public void testArchivesWithConditionalExcludesDontGetIndexed() throws Exception
+    {
+        startContainer();
+        File indexFile = new File(tempFolder.getRoot(), "owb-scan.idx");
+        getWebBeansContext().getOpenWebBeansConfiguration().setProperty(OpenWebBeansConfiguration.SCAN_INDEX_FILE, indexFile.getPath());
+
+        File conditionalRoot = tempFolder.newFolder("conditional");
+        File beansXml = new File(conditionalRoot, "META-INF/beans.xml");
+        Assert.assertTrue(beansXml.getParentFile().mkdirs());
+        Files.write(beansXml.toPath(), ("<beans xmlns=\"http://xmlns.jcp.org/xml/ns/javaee\" bean-discovery-mode=\"all\">"
+                + "<scan><exclude name=\"" + PlainClass.class.getName() + "\">"
+                + "<if-class-available name=\"org.apache.webbeans.test.scanner.NotAvailable\"/>"
+                + "</exclude></scan></beans>").getBytes("UTF-8"));
+        copyClasses(conditionalRoot, ExplicitBean.class, PlainClass.class);
+
+        Map<URL, URL> archives = Collections.singletonMap(beansXml.toURI().toURL(), conditionalRoot.toURI().toURL());
+
+        IndexedScanner firstStart = new IndexedScanner(archives);
+        Set<Class<?>> firstClasses = firstStart.scanBeanClasses();
+        Assert.assertEquals(new HashSet<>(Arrays.asList(ExplicitBean.class, PlainClass.class)), firstClasses);
+
+        // the exclude depends on the classpath, so the archive has to get scanned again
+        IndexedScanner secondStart = new IndexedScanner(archives);
+        Assert.assertEquals(firstClasses, secondStart.scanBeanClasses());
+        Assert.assertEquals(1, secondStart.getScannedUrls().size());
+    }
+
+    private void copyClasses(File root, Class<?>... classes) throws Exception
+    {
+        for (Class<?> clazz : classes)
+        {
+            String resource = clazz.getName().replace('.', '/') + ".class";
+            File classFile = new File(root, resource);
+            classFile.getParentFile().mkdirs();
+            try (InputStream in = clazz.getClassLoader().getResourceAsStream(resource))
+            {
+                Files.copy(in, classFile.toPath());
+            }
+        }
+    }
+
+    private static class IndexedScanner extends AbstractMetaDataDiscovery
+    {
+        /**
+         * key: the beans.xml or the root of an implicit bean archive
+         * value: the bean deployment URL
+         */
+        private final Map<URL, URL> archives;
+
+        private IndexedScanner(Map<URL, URL> archives)
+        {
+            this.archives = archives;
+        }
+
+        @Override
+        protected void configure()
+        {
+            for (Map.Entry<URL, URL> archive : archives.entrySet())
+            {
+                addWebBeansXmlLocation(archive.getKey());
+                addDeploymentUrl(archive.getKey().toExternalForm(), archive.getValue());
+            }
+        }
+
+        private Set<Class<?>> scanBeanClasses()
+        {
+            scan();
+            Set<Class<?>> classes = new HashSet<>();
+            for (Set<Class<?>> bdaClasses : getBeanClassesPerBda().values())
+            {
+                classes.addAll(bdaClasses);
+            }
+            return classes;
+        }
+
+        private Set<String> getScannedUrls()
+        {
+            return archive.classesByUrl().keySet();
+        }
+    }
+
+    @ApplicationScoped
+    public static class ExplicitBean
+    {
+    }
+
+    public static class PlainClass
+    {
+    }
+
+    @ApplicationScoped
+    public static class ScopedBean
+    {
+    }
+
+    @RequestScoped
+    public static class OtherScopedBean
+    {
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.proxy;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.config.WebBeansFinder;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.spi.ContainerLifecycle;
+import org.apache.webbeans.spi.ScannerService;
+
+import javax.enterprise.inject.spi.Bean;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Boots the deployment of the project and writes the normal scope proxy classes of all
+ * its normal-scoped beans into the build output.
+ * For a war project the WEB-INF/beans.xml of the {@link #webappDirectory} gets taken into account.
+ *
+ * The proxy classes get deterministic names which contain a fingerprint of the proxied methods.
+ * They only get used at runtime if {@code org.apache.webbeans.proxy.usePregeneratedProxies=true}
+ * is configured. Missing or outdated proxy classes still get generated at runtime.
+ * Interceptor, decorator and subclass proxies don't get pregenerated.
+ */
+@Mojo(name = "generate-proxies", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+      requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class GenerateProxiesMojo extends AbstractMojo
+{
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * Where the proxy classes get written to.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * Only used if it contains a WEB-INF/beans.xml, as this file is not part of the runtime classpath.
+     */
+    @Parameter(defaultValue = "${basedir}/src/main/webapp", required = true)
+    private File webappDirectory;
+
+    @Parameter(property = "openwebbeans.proxies.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException
+    {
+        if (skip)
+        {
+            getLog().info("Skipping the generation of the OpenWebBeans proxies");
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader oldClassLoader = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(getClasspath(), getClass().getClassLoader()))
+        {
+            thread.setContextClassLoader(classLoader);
+            try
+            {
+                registerWarBeansArchive(classLoader);
+                generateProxies(classLoader);
+            }
+            finally
+            {
+                WebBeansFinder.clearInstances(classLoader);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new MojoExecutionException("Cannot generate the OpenWebBeans proxies", e);
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldClassLoader);
+        }
+    }
+
+    /**
+     * Creates the WebBeansContext of the given ClassLoader upfront if the project has a WEB-INF/beans.xml.
+     */
+    private void registerWarBeansArchive(ClassLoader classLoader) throws MojoExecutionException
+    {
+        File webInfBeansXml = new File(webappDirectory, "WEB-INF/beans.xml");
+        if (!webInfBeansXml.isFile())
+        {
+            return;
+        }
+        if (!(WebBeansFinder.getSingletonService() instanceof DefaultSingletonService))
+        {
+            throw new MojoExecutionException("Cannot add " + webInfBeansXml + " with a custom SingletonService");
+        }
+
+        try
+        {
+            getLog().info("Adding information from " + webInfBeansXml);
+            Map<Class<?>, Object> services = new HashMap<>();
+            services.put(ScannerService.class, new WarScannerService(webInfBeansXml.toURI().toURL()));
+            ((DefaultSingletonService) WebBeansFinder.getSingletonService())
+                    .register(classLoader, new WebBeansContext(services, new Properties()));
+        }
+        catch (MalformedURLException e)
+        {
+            throw new MojoExecutionException("Invalid beans.xml location " + webInfBeansXml, e);
+        }
+    }
+
+    private void generateProxies(ClassLoader classLoader) throws IOException, MojoFailureException
+    {
+        WebBeansContext webBeansContext = WebBeansContext.currentInstance();
+        ContainerLifecycle lifecycle = webBeansContext.getService(ContainerLifecycle.class);
+        lifecycle.startApplication(null);
+        try
+        {
+            BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+            NormalScopeProxyFactory proxyFactory = webBeansContext.getNormalScopeProxyFactory();
+
+            Set<String> generated = new HashSet<>();
+            int written = 0;
+            for (Bean<?> bean : beanManager.getBeans())
+            {
+                if (!beanManager.isNormalScope(bean.getScope()))
+                {
+                    continue;
+                }
+
+                Class<?> classToProxy = bean instanceof OwbBean ? ((OwbBean<?>) bean).getReturnType() : bean.getBeanClass();
+                if (classToProxy == null || classToProxy.getClassLoader() != classLoader)
+                {
+                    // only the classes of the project and its dependencies, not the ones of this plugin
+                    continue;
+                }
+
+                String proxyClassName = proxyFactory.getPregeneratedProxyClassName(classToProxy);
+                if (!generated.add(proxyClassName))
+                {
+                    continue;
+                }
+
+                try
+                {
+                    write(proxyClassName, proxyFactory.generatePregeneratedProxyClass(classLoader, classToProxy));
+                    written++;
+                }
+                catch (RuntimeException e)
+                {
+                    getLog().warn("Cannot generate the proxy for " + classToProxy.getName() + ", it will get generated at runtime", e);
+                }
+            }
+            if (generated.isEmpty())
+            {
+                // most likely the bean archives of the project didn't get found
+                throw new MojoFailureException("No normal-scoped beans found in the project. A war project needs its"
+                        + " WEB-INF/beans.xml in " + webappDirectory + ", a jar project a META-INF/beans.xml or classes"
+                        + " with a bean defining annotation. Use -Dopenwebbeans.proxies.skip=true to skip this goal.");
+            }
+            getLog().info("Generated " + written + " OpenWebBeans proxy classes in " + outputDirectory);
+        }
+        finally
+        {
+            lifecycle.stopApplication(null);
+        }
+    }
+
+    private void write(String proxyClassName, byte[] bytes) throws IOException
+    {
+        File classFile = new File(outputDirectory, proxyClassName.replace('.', '/') + ".class");
+        File parent = classFile.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs())
+        {
+            throw new IOException("Cannot create " + parent);
+        }
+        Files.write(classFile.toPath(), bytes);
+    }
+
+    private URL[] getClasspath() throws MojoExecutionException
+    {
+        try
+        {
+            List<URL> urls = new ArrayList<>();
+            for (String element : project.getRuntimeClasspathElements())
+            {
+                urls.add(new File(element).toURI().toURL());
+            }
+            return urls.toArray(new URL[urls.size()]);
+        }
+        catch (MalformedURLException e)
+        {
+            throw new MojoExecutionException("Invalid classpath element", e);
+        }
+        catch (DependencyResolutionRequiredException e)
+        {
+            throw new MojoExecutionException("Cannot resolve the runtime classpath", e);
+        }
+    }
+}
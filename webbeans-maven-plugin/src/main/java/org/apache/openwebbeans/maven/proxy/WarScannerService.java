@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.maven.proxy;
+
+import org.apache.webbeans.corespi.se.DefaultScannerService;
+
+import java.net.URL;
+
+/**
+ * Adds the WEB-INF/beans.xml of a war project in the same way as the
+ * WebScannerService does at runtime. It gets merged with the
+ * beans.xml information of the classes directory.
+ */
+class WarScannerService extends DefaultScannerService
+{
+    private final URL webInfBeansXml;
+
+    WarScannerService(URL webInfBeansXml)
+    {
+        this.webInfBeansXml = webInfBeansXml;
+    }
+
+    @Override
+    protected void configure()
+    {
+        // must be known before the classes directory gets registered
+        addWebBeansXmlLocation(webInfBeansXml);
+        super.configure();
+    }
+}
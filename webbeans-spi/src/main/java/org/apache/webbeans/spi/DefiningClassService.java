@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.spi;
+
+/**
+ * SPI to define the proxy classes which get generated at runtime.
+ * If no implementation is configured or an implementation cannot define a class,
+ * the proxy class gets defined directly in the ClassLoader via reflection or sun.misc.Unsafe.
+ */
+public interface DefiningClassService
+{
+    /**
+     * @param classLoader the ClassLoader which got selected for the proxy class
+     * @param name the binary name of the proxy class
+     * @param bytecode the bytecode of the proxy class
+     * @param proxiedClass the class or interface the proxy class extends or implements
+     * @return the defined proxy class or {@code null} if this service cannot define the given class
+     */
+    <T> Class<T> defineAndLoad(ClassLoader classLoader, String name, byte[] bytecode, Class<?> proxiedClass);
+}
@@ -63,10 +63,14 @@ public class ServletRequestContext extends RequestContext
         this.servletRequest = servletRequest;
     }
 
+    /**
+     * The servletRequest only gets cleared once the context really got destroyed,
+     * as async observer methods might still use it if the destruction got deferred.
+     */
     @Override
-    public void destroy()
+    protected void doDestroy()
     {
-        super.destroy();
+        super.doDestroy();
         servletRequest = null;
     }
 
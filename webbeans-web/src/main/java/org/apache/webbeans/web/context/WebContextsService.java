@@ -25,6 +25,8 @@ import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.context.AbstractContextsService;
 import org.apache.webbeans.context.ApplicationContext;
+import org.apache.webbeans.context.ContextAccessor;
+import org.apache.webbeans.context.ContextsSnapshot;
 import org.apache.webbeans.context.ConversationContext;
 import org.apache.webbeans.context.DependentContext;
 import org.apache.webbeans.context.RequestContext;
@@ -33,9 +35,7 @@ import org.apache.webbeans.context.SingletonContext;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.event.NotificationManager;
-import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -150,7 +150,6 @@ public class WebContextsService extends AbstractContextsService
         requestContexts.remove();
         sessionContexts.remove();
         conversationContexts.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
     }
 
 
@@ -296,6 +295,62 @@ public class WebContextsService extends AbstractContextsService
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Subclasses get no accessor as they might override {@link #getCurrentContext(Class)},
+     * which the accessor would bypass. They can opt in by overriding this method
+     * and returning {@link #getBuiltInContextAccessor(Class)}.
+     */
+    @Override
+    public ContextAccessor getContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if (getClass() != WebContextsService.class)
+        {
+            return null;
+        }
+        return getBuiltInContextAccessor(scopeType);
+    }
+
+    /**
+     * @return direct access to the contexts held by this ContextsService
+     *         or {@code null} if the scope has no such context
+     */
+    protected ContextAccessor getBuiltInContextAccessor(Class<? extends Annotation> scopeType)
+    {
+        if (scopeType.equals(RequestScoped.class))
+        {
+            return () -> requestContexts.get();
+        }
+        else if (scopeType.equals(SessionScoped.class))
+        {
+            return () -> sessionContexts.get();
+        }
+        else if (scopeType.equals(ApplicationScoped.class))
+        {
+            return () -> applicationContext;
+        }
+        else if (scopeType.equals(Singleton.class))
+        {
+            return () -> singletonContext;
+        }
+
+        // the ConversationContext gets lazily attached to the current thread
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The snapshot contains the request, session and conversation context of the current thread.
+     * For an async servlet request the contexts stay valid until the request got completed.
+     */
+    @Override
+    public ContextsSnapshot snapshotContexts()
+    {
+        return new ContextsSnapshot(requestContexts, sessionContexts, conversationContexts);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -444,10 +499,6 @@ public class WebContextsService extends AbstractContextsService
                 payload != null ? payload : new Object(), DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
         }
 
-        // clean the proxy cache ThreadLocals
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
-
         //Clear thread locals
         requestContexts.set(null);
         requestContexts.remove();
@@ -560,8 +611,6 @@ public class WebContextsService extends AbstractContextsService
                 requestContext.setHttpSession(session);
             }
         }
-
-        SessionScopedBeanInterceptorHandler.removeThreadLocals();
     }
 
 